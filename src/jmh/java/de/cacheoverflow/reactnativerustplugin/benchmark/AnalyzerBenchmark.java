@@ -0,0 +1,73 @@
+package de.cacheoverflow.reactnativerustplugin.benchmark;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.AnalyzerConfiguration;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.EnumParseMode;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.SourceFileAnalyzer;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AnalyzerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fileCount;
+
+    @Param({"1", "10", "100"})
+    public int exportsPerFile;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private Path crateFolder;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final RustCrateGenerator.Options options = new RustCrateGenerator.Options("benchmark-crate", this.fileCount,
+                this.exportsPerFile, 3, 20, 0L);
+        this.crateFolder = new RustCrateGenerator(options).generate(Files.createTempDirectory("benchmark-crate"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkSources.deleteCrate(this.crateFolder);
+    }
+
+    // The files counter reports analyzed files per second next to the project analyses per second, so results of
+    // different file counts are comparable
+    @Benchmark
+    public int analyzeProject(@NotNull final FileCounter fileCounter) {
+        final AnalyzerConfiguration configuration = new AnalyzerConfiguration(this.parallelism,
+                EnumParseMode.TWO_STAGE, true);
+        try (final SourceFileAnalyzer analyzer = new SourceFileAnalyzer(NOPLogger.NOP_LOGGER, configuration, null)) {
+            analyzer.analyzeProject(this.crateFolder);
+            final int fileCount = analyzer.getProjects().get(0).files().size();
+            fileCounter.files += fileCount;
+            return fileCount;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class FileCounter {
+
+        public long files;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.files = 0;
+        }
+
+    }
+
+}
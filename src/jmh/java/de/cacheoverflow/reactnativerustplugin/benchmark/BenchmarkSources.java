@@ -0,0 +1,75 @@
+package de.cacheoverflow.reactnativerustplugin.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class BenchmarkSources {
+
+    private BenchmarkSources() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static @NotNull String moduleSource(final int index) {
+        return String.format("""
+                use jni::JNIEnv;
+                use jni::objects::{JClass, jint};
+                use crate::module_%1$s::Data%1$s;
+
+                #[derive(Debug, Clone)]
+                #[jni_export(class = "com.example.Data%1$s")]
+                pub struct Data%1$s {
+                    pub first: i32,
+                    pub second: i64,
+                    pub third: f64,
+                }
+
+                impl Data%1$s {
+                    pub fn sum(&self) -> f64 {
+                        let mut result = 0.0;
+                        for value in [self.first as f64, self.second as f64, self.third] {
+                            result += if value > 0.0 { value } else { -value };
+                        }
+                        result
+                    }
+                }
+
+                #[no_mangle]
+                #[jni_export(class = "com.example.Module%1$s")]
+                pub extern "C" fn Java_com_example_Module%1$s_compute(env: JNIEnv, class: JClass, value: jint) -> jint {
+                    let data = Data%1$s { first: value, second: value as i64 * 2, third: 0.5 };
+                    match data.sum() as i32 {
+                        0 => 1,
+                        result => result.wrapping_mul(31),
+                    }
+                }
+                """, index);
+    }
+
+    public static @NotNull String nestedExpressionSource(final int depth) {
+        final StringBuilder expression = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            expression.append("(").append(i).append(" + ");
+        }
+        expression.append("0");
+        expression.append(")".repeat(depth));
+        return String.format("""
+                pub const NESTED: i64 = %1$s;
+
+                pub fn nested() -> i64 {
+                    %1$s
+                }
+                """, expression);
+    }
+
+    public static void deleteCrate(@NotNull final Path crateFolder) throws IOException {
+        try (final var paths = Files.walk(crateFolder)) {
+            for (final Path path : paths.sorted((first, second) -> second.compareTo(first)).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}
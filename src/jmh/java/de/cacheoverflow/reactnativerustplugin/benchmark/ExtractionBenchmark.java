@@ -0,0 +1,47 @@
+package de.cacheoverflow.reactnativerustplugin.benchmark;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.SourceFileAnalyzerListener;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFunction;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    private ParseTree parseTree;
+
+    @Setup
+    public void setup() {
+        final RustParser parser = new RustParser(new CommonTokenStream(new RustLexer(CharStreams
+                .fromString(BenchmarkSources.moduleSource(0)))));
+        parser.removeErrorListeners();
+        this.parseTree = parser.crate();
+    }
+
+    @Benchmark
+    public int extract() {
+        final List<RustFunction> functions = new ArrayList<>();
+        final List<RustStruct> structures = new ArrayList<>();
+        final Map<String, String> imports = new LinkedHashMap<>();
+        ParseTreeWalker.DEFAULT.walk(new SourceFileAnalyzerListener(functions, structures, imports), this.parseTree);
+        return functions.size() + structures.size() + imports.size();
+    }
+
+}
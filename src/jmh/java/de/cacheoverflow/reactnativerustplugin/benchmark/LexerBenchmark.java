@@ -0,0 +1,36 @@
+package de.cacheoverflow.reactnativerustplugin.benchmark;
+
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LexerBenchmark {
+
+    private String moduleSource;
+    private String nestedSource;
+
+    @Setup
+    public void setup() {
+        this.moduleSource = BenchmarkSources.moduleSource(0);
+        this.nestedSource = BenchmarkSources.nestedExpressionSource(200);
+    }
+
+    @Benchmark
+    public int lexModule() {
+        return new RustLexer(CharStreams.fromString(this.moduleSource)).getAllTokens().size();
+    }
+
+    @Benchmark
+    public int lexNestedExpression() {
+        return new RustLexer(CharStreams.fromString(this.nestedSource)).getAllTokens().size();
+    }
+
+}
@@ -0,0 +1,52 @@
+package de.cacheoverflow.reactnativerustplugin.benchmark;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.FunctionBodyFilter;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"MODULE", "NESTED_EXPRESSION"})
+    public String source;
+
+    @Param({"SLL", "LL"})
+    public String predictionMode;
+
+    @Param({"false", "true"})
+    public boolean skipFunctionBodies;
+
+    private List<? extends Token> tokens;
+
+    @Setup
+    public void setup() {
+        final String sourceText = this.source.equals("MODULE") ? BenchmarkSources.moduleSource(0) :
+                BenchmarkSources.nestedExpressionSource(200);
+        final List<? extends Token> allTokens = new RustLexer(CharStreams.fromString(sourceText)).getAllTokens();
+        this.tokens = this.skipFunctionBodies ? FunctionBodyFilter.filter(allTokens) : allTokens;
+    }
+
+    @Benchmark
+    public RustParser.CrateContext parse() {
+        final RustParser parser = new RustParser(new CommonTokenStream(new ListTokenSource(this.tokens)));
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(this.predictionMode.equals("SLL") ? PredictionMode.SLL :
+                PredictionMode.LL);
+        return parser.crate();
+    }
+
+}
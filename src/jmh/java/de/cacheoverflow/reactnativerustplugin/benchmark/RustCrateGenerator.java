@@ -0,0 +1,230 @@
+package de.cacheoverflow.reactnativerustplugin.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+public final class RustCrateGenerator {
+
+    private static final String BASE_PACKAGE = "com.example.generated";
+    private static final String[] PRIMITIVE_TYPES = {"jint", "jlong", "jdouble", "jboolean", "jfloat", "jshort"};
+    private static final int MODULE_BRANCHING = 4;
+
+    private final Options options;
+    private final Random random;
+    private long exportedFunctionCount;
+
+    public RustCrateGenerator(@NotNull final Options options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+    }
+
+    // Usage: <output folder> <file count> <exports per file> <nesting depth>
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: RustCrateGenerator <output folder> <file count> <exports per file> <nesting depth>");
+            System.exit(1);
+        }
+
+        final Options options = new Options("generated-crate", Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                Integer.parseInt(args[3]), 20, 0L);
+        final RustCrateGenerator generator = new RustCrateGenerator(options);
+        final Path crateFolder = generator.generate(Paths.get(args[0]));
+        System.out.printf("Generated crate with %s files and %s exported functions in '%s'%n", options.fileCount(),
+                generator.getExportedFunctionCount(), crateFolder.toAbsolutePath());
+    }
+
+    public @NotNull Path generate(@NotNull final Path crateFolder) throws IOException {
+        Files.createDirectories(crateFolder);
+        Files.writeString(crateFolder.resolve("Cargo.toml"), String.format("""
+                [package]
+                name = "%s"
+                version = "0.1.0"
+                edition = "2021"
+
+                [lib]
+                crate-type = ["staticlib", "cdylib"]
+
+                [dependencies]
+                jni = "0.21"
+                """, this.options.crateName()));
+
+        // Generate all item files and remember the children of every module folder for the mod.rs files
+        final Path sourceFolder = Files.createDirectories(crateFolder.resolve("src"));
+        final Map<List<String>, Set<String>> moduleChildren = new TreeMap<>(Comparator.comparing(Object::toString));
+        moduleChildren.put(List.of(), new TreeSet<>());
+
+        String previousRecordPath = null;
+        for (int index = 0; index < this.options.fileCount(); index++) {
+            final List<String> modules = this.getModules(index);
+            for (int depth = 0; depth < modules.size(); depth++) {
+                moduleChildren.computeIfAbsent(modules.subList(0, depth), ignored -> new TreeSet<>())
+                        .add(modules.get(depth));
+                moduleChildren.computeIfAbsent(modules.subList(0, depth + 1), ignored -> new TreeSet<>());
+            }
+
+            final String itemName = String.format("item_%s", index);
+            moduleChildren.get(modules).add(itemName);
+            final Path moduleFolder = Files.createDirectories(modules.stream().reduce(sourceFolder, Path::resolve,
+                    (first, second) -> second));
+
+            final String modulePath = String.join("::", modules);
+            final String recordPath = String.format("crate::%s%s::Record%s", modulePath.isEmpty() ? "" : modulePath + "::",
+                    itemName, index);
+            final boolean plainFile = this.random.nextInt(100) < this.options.plainFilePercentage();
+            final String source = plainFile ? this.generatePlainSource(index) :
+                    this.generateExportSource(index, modules.isEmpty() ? "RootModule" : this.capitalize(modules.get(0)),
+                            previousRecordPath);
+            Files.writeString(moduleFolder.resolve(itemName + ".rs"), source);
+            if (!plainFile) {
+                previousRecordPath = recordPath;
+            }
+        }
+
+        // Generate lib.rs and mod.rs files with the module declarations
+        for (final Map.Entry<List<String>, Set<String>> entry : moduleChildren.entrySet()) {
+            final StringBuilder source = new StringBuilder();
+            for (final String child : entry.getValue()) {
+                source.append("pub mod ").append(child).append(";\n");
+            }
+
+            final Path moduleFolder = entry.getKey().stream().reduce(sourceFolder, Path::resolve, (first, second) -> second);
+            Files.writeString(moduleFolder.resolve(entry.getKey().isEmpty() ? "lib.rs" : "mod.rs"), source);
+        }
+        return crateFolder;
+    }
+
+    private @NotNull List<String> getModules(final int index) {
+        final List<String> modules = new ArrayList<>();
+        int value = index;
+        for (int depth = 0; depth < this.options.nestingDepth(); depth++) {
+            modules.add(String.format("module_%s", value % MODULE_BRANCHING));
+            value /= MODULE_BRANCHING;
+        }
+        return modules;
+    }
+
+    private @NotNull String generateExportSource(final int index, @NotNull final String moduleClassName,
+                                                 final String previousRecordPath) {
+        final StringBuilder source = new StringBuilder("""
+                use jni::JNIEnv;
+                use jni::objects::JClass;
+                use jni::sys::{jboolean, jdouble, jfloat, jint, jlong, jshort};
+                """);
+        final String previousRecord = previousRecordPath != null ? previousRecordPath
+                .substring(previousRecordPath.lastIndexOf("::") + 2) : null;
+        if (previousRecordPath != null) {
+            source.append("use ").append(previousRecordPath).append(";\n");
+        }
+
+        // Exported structure with primitive fields and a field of the previous exported structure
+        source.append(String.format("""
+
+                #[derive(Debug, Clone)]
+                #[jni_export(class = "%s.Record%s")]
+                pub struct Record%s {
+                """, BASE_PACKAGE, index, index));
+        for (int field = 0; field < 3; field++) {
+            source.append(String.format("    pub field_%s: %s,\n", field, this.randomPrimitive()));
+        }
+        if (previousRecord != null) {
+            source.append(String.format("    pub previous: %s,\n", previousRecord));
+        }
+        source.append("}\n");
+
+        // Structure and function without export, they are ignored by the code generation
+        source.append(String.format("""
+
+                #[derive(Default)]
+                struct Cache%1$s {
+                    hits: u64,
+                    values: Vec<Option<i64>>,
+                }
+
+                fn helper_%1$s(cache: &mut Cache%1$s, value: i64) -> i64 {
+                    cache.hits += 1;
+                    let result = cache.values.iter().flatten().fold(value, |sum, current| sum.wrapping_add(*current));
+                    if result > 0 { result } else { -result }
+                }
+                """, index));
+
+        // Exported functions with primitive and structure parameters and return types
+        for (int function = 0; function < this.options.exportsPerFile(); function++) {
+            final List<String> parameters = new ArrayList<>(List.of("env: JNIEnv", "class: JClass"));
+            final int parameterCount = 1 + this.random.nextInt(4);
+            for (int parameter = 0; parameter < parameterCount; parameter++) {
+                final int kind = this.random.nextInt(6);
+                final String type = kind == 0 ? "Record" + index : kind == 1 && previousRecord != null ? previousRecord :
+                        this.randomPrimitive();
+                parameters.add(String.format("value_%s: %s", parameter, type));
+            }
+
+            final boolean structReturn = this.random.nextInt(4) == 0;
+            final String returnType = structReturn ? "Record" + index : this.randomPrimitive();
+            source.append(String.format("""
+
+                    #[no_mangle]
+                    #[jni_export(class = "%s.%s")]
+                    pub extern "C" fn compute_%s_%s(%s) -> %s {
+                        let mut cache = Cache%s::default();
+                        let _ = helper_%s(&mut cache, %s);
+                        unimplemented!()
+                    }
+                    """, BASE_PACKAGE, moduleClassName, index, function, String.join(", ", parameters),
+                    returnType, index, index, function));
+            this.exportedFunctionCount++;
+        }
+        return source.toString();
+    }
+
+    private @NotNull String generatePlainSource(final int index) {
+        return String.format("""
+                use std::collections::HashMap;
+
+                #[derive(Debug, Default)]
+                pub struct Registry%1$s {
+                    entries: HashMap<String, u32>,
+                }
+
+                impl Registry%1$s {
+                    pub fn register(&mut self, name: &str) -> u32 {
+                        let next = self.entries.len() as u32;
+                        *self.entries.entry(name.to_owned()).or_insert(next)
+                    }
+                }
+                """, index);
+    }
+
+    public long getExportedFunctionCount() {
+        return this.exportedFunctionCount;
+    }
+
+    private @NotNull String randomPrimitive() {
+        return PRIMITIVE_TYPES[this.random.nextInt(PRIMITIVE_TYPES.length)];
+    }
+
+    private @NotNull String capitalize(@NotNull final String string) {
+        final StringBuilder builder = new StringBuilder();
+        for (final String part : string.split("_")) {
+            builder.append(part.substring(0, 1).toUpperCase()).append(part.substring(1));
+        }
+        return builder.toString();
+    }
+
+    public record Options(@NotNull String crateName, int fileCount, int exportsPerFile, int nestingDepth,
+                          int plainFilePercentage, long seed) {
+
+        public Options {
+            if (fileCount < 1 || exportsPerFile < 0 || nestingDepth < 0)
+                throw new IllegalArgumentException("File count must be positive, exports and nesting depth not negative");
+            if (plainFilePercentage < 0 || plainFilePercentage > 100)
+                throw new IllegalArgumentException("Plain file percentage must be between 0 and 100");
+        }
+
+    }
+
+}
@@ -1,12 +1,15 @@
 package de.cacheoverflow.reactnativerustplugin;
 
 import de.cacheoverflow.reactnativerustplugin.extension.PluginBaseExtension;
+import de.cacheoverflow.reactnativerustplugin.service.CargoManifestService;
+import de.cacheoverflow.reactnativerustplugin.service.RustParserService;
 import de.cacheoverflow.reactnativerustplugin.tasks.CargoCompileTask;
 import de.cacheoverflow.reactnativerustplugin.tasks.JavaCodeGenTask;
 import de.cacheoverflow.reactnativerustplugin.tasks.NativeBundleTask;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.plugins.ExtensionContainer;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskContainer;
 import org.jetbrains.annotations.NotNull;
 
@@ -22,16 +25,40 @@ public class ReactNativeRustPlugin implements Plugin<Project> {
         final ExtensionContainer extensionContainer = project.getExtensions();
         final PluginBaseExtension extension = extensionContainer.create("react_native_rust", PluginBaseExtension.class);
 
+        // Services
+        final Provider<RustParserService> parserService = project.getGradle().getSharedServices()
+                .registerIfAbsent(RustParserService.SERVICE_NAME, RustParserService.class, spec -> {});
+        final Provider<CargoManifestService> manifestService = project.getGradle().getSharedServices()
+                .registerIfAbsent(CargoManifestService.SERVICE_NAME, CargoManifestService.class, spec -> {});
+
         // Tasks
         final TaskContainer taskContainer = project.getTasks();
         taskContainer.register("javaCodeGen", JavaCodeGenTask.class, task -> {
             task.setGroup(ReactNativeRustPlugin.TASK_GROUP);
+            task.getParserService().set(parserService);
+            task.usesService(parserService);
+            task.getManifestService().set(manifestService);
+            task.usesService(manifestService);
             task.getModuleFolders().addAll(extension.getModuleFolders());
             task.getBasePackage().set(extension.getBasePackage());
+            task.getAnalyzerParallelism().set(extension.getAnalyzerParallelism());
+            task.getAnalyzerParseMode().set(extension.getAnalyzerParseMode());
+            task.getAnalyzerSkipFunctionBodies().set(extension.getAnalyzerSkipFunctionBodies());
+            task.getAnalysisCache().set(project.getLayout().getBuildDirectory()
+                    .file("react-native-rust/analysis-cache.bin"));
+            task.getAnalysisSnapshot().set(project.getLayout().getBuildDirectory()
+                    .file("react-native-rust/analysis.bin"));
+            task.getReportDirectory().set(project.getLayout().getBuildDirectory().dir("reports/react-native-rust"));
+
+            // The Rust sources aren't declared as inputs, so the declared cache and snapshot outputs must not make the
+            // task up-to-date. Unchanged files are served by the analysis cache instead.
+            task.getOutputs().upToDateWhen(ignored -> false);
         });
 
         taskContainer.register("cargoCompile", CargoCompileTask.class, task -> {
             task.setGroup(ReactNativeRustPlugin.TASK_GROUP);
+            task.getManifestService().set(manifestService);
+            task.usesService(manifestService);
             task.getCargoFile().set(extension.getCargoFile());
             task.getNdkFolder().set(extension.getNdkFolder());
             task.getModuleFolders().addAll(extension.getModuleFolders());
@@ -42,6 +69,8 @@ public class ReactNativeRustPlugin implements Plugin<Project> {
         taskContainer.register("nativeBundle", NativeBundleTask.class, task -> {
             task.setGroup(ReactNativeRustPlugin.TASK_GROUP);
             task.setDependsOn(List.of("cargoCompile"));
+            task.getManifestService().set(manifestService);
+            task.usesService(manifestService);
             task.getModuleFolders().addAll(extension.getModuleFolders());
         });
     }
@@ -1,23 +1,29 @@
 package de.cacheoverflow.reactnativerustplugin.codegen;
 
+import de.cacheoverflow.reactnativerustplugin.codegen.expressions.IExpression;
 import de.cacheoverflow.reactnativerustplugin.exception.CodeGenerationException;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
 import de.cacheoverflow.reactnativerustplugin.utils.StringHelper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.util.List;
-import java.util.Map;
 import java.util.Stack;
 
 public class ClassBuilder {
 
-    final StringBuilder internalClassBuilder = new StringBuilder();
     final Stack<EnumScopeType> scopeStack = new Stack<>();
     final String className;
+    private final Appendable output;
+
+    // The class and its methods are written to the output while building instead of being buffered. Methods are
+    // emitted one after another, so only the buffer of the output is held in memory.
+    public ClassBuilder(@NotNull final Appendable output, final int modifier, @NotNull final String name,
+                        @Nullable final String superClass, @NotNull final List<String> interfaces) {
+        this.output = output;
 
-    public ClassBuilder(final int modifier, @NotNull final String name, @Nullable final String superClass,
-                        @NotNull final List<String> interfaces) {
         // Breakup name to package and name
         final int lastDotIndex = name.lastIndexOf('.');
         final String className = name.substring(lastDotIndex == -1 ? 0 : lastDotIndex + 1);
@@ -26,48 +32,42 @@ public class ClassBuilder {
 
         // Generate class string
         if (!packageString.trim().isEmpty()) {
-            this.internalClassBuilder.append("package ").append(packageString).append(";\n");
+            this.append("package ").append(packageString).append(";\n");
         }
 
-        this.internalClassBuilder.append(Modifier.toString(modifier)).append(" class ").append(className);
+        this.append(Modifier.toString(modifier)).append(" class ").append(className);
         if (superClass != null) {
-            this.internalClassBuilder.append(" extends ").append(superClass);
+            this.append(" extends ").append(superClass);
         }
 
         if (!interfaces.isEmpty()) {
-            this.internalClassBuilder.append(" implements ");
-            for (final String interfaceString : interfaces) {
-                this.internalClassBuilder.append(interfaceString).append(", ");
-            }
-
-            final int length = this.internalClassBuilder.length();
-            this.internalClassBuilder.replace(length - 2, length, "");
+            this.append(" implements ");
+            this.appendJoined(interfaces.size(), (target, index) -> target.append(interfaces.get(index)));
         }
 
-        this.internalClassBuilder.append(" {\n\n");
+        this.append(" {\n\n");
         this.pushScope(EnumScopeType.CLASS);
     }
 
     public void addField(final int modifier, @NotNull final String name, @NotNull final String type) {
-        StringHelper.repeat(this.internalClassBuilder, "    ", this.scopeStack.size());
-        this.internalClassBuilder.append(Modifier.toString(modifier)).append(" ").append(type).append(" ").append(name)
-                .append(";\n\n");
+        this.indent(this.scopeStack.size());
+        this.append(Modifier.toString(modifier)).append(" ").append(type).append(" ").append(name).append(";\n\n");
     }
 
     public @NotNull MethodBuilder addMethod(final int modifier, @NotNull final String name,
-                                            @NotNull final Map<String, String> parameter,
+                                            @NotNull final ParameterList parameter,
                                             @Nullable final String returnType,
                                             @NotNull final List<String> annotations) {
         return new MethodBuilder(this, modifier, name, parameter, returnType, annotations);
     }
 
     public @NotNull MethodBuilder addMethod(final int modifier, @NotNull final String name,
-                                            @NotNull final Map<String, String> parameter,
+                                            @NotNull final ParameterList parameter,
                                             @Nullable final String returnType) {
         return new MethodBuilder(this, modifier, name, parameter, returnType);
     }
 
-    public @NotNull MethodBuilder addConstructor(final int modifier, @NotNull final Map<String, String> parameter) {
+    public @NotNull MethodBuilder addConstructor(final int modifier, @NotNull final ParameterList parameter) {
         return new MethodBuilder(this, modifier, parameter);
     }
 
@@ -75,14 +75,12 @@ public class ClassBuilder {
         return new MethodBuilder(this);
     }
 
-    public @NotNull String build() {
+    public void finish() {
         final EnumScopeType scope = this.popScope();
         if (scope != EnumScopeType.CLASS) {
             throw new CodeGenerationException("Uncomplete code generation while build function. Scope should be " +
                     "class but is %s", scope);
         }
-
-        return this.internalClassBuilder.toString();
     }
 
     void pushScope(@NotNull final EnumScopeType type) {
@@ -90,11 +88,45 @@ public class ClassBuilder {
     }
 
     @NotNull EnumScopeType popScope() {
-        StringHelper.repeat(this.internalClassBuilder, "    ", this.scopeStack.size() - 1);
-        this.internalClassBuilder.append("}\n\n");
+        this.indent(this.scopeStack.size() - 1);
+        this.append("}\n\n");
         return this.scopeStack.pop();
     }
 
+    @NotNull ClassBuilder append(@NotNull final CharSequence content) {
+        try {
+            this.output.append(content);
+            return this;
+        } catch (IOException ex) {
+            throw new CodeGenerationException(ex);
+        }
+    }
+
+    @NotNull ClassBuilder emit(@NotNull final IExpression expression) {
+        try {
+            expression.emitTo(this.output);
+            return this;
+        } catch (IOException ex) {
+            throw new CodeGenerationException(ex);
+        }
+    }
+
+    void appendJoined(final int count, @NotNull final StringHelper.ElementAppender appender) {
+        try {
+            StringHelper.appendJoined(this.output, count, ", ", appender);
+        } catch (IOException ex) {
+            throw new CodeGenerationException(ex);
+        }
+    }
+
+    void indent(final int depth) {
+        try {
+            StringHelper.repeat(this.output, "    ", depth);
+        } catch (IOException ex) {
+            throw new CodeGenerationException(ex);
+        }
+    }
+
     enum EnumScopeType {
         FUNCTION,
         CLASS
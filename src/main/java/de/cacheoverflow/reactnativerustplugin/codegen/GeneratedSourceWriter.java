@@ -0,0 +1,141 @@
+package de.cacheoverflow.reactnativerustplugin.codegen;
+
+import de.cacheoverflow.reactnativerustplugin.exception.CodeGenerationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Writes generated classes into the source folder only if their content changed. Unchanged files keep their
+// timestamps, so javac and the Android build don't recompile them after a Rust-only change. Files of the folder which
+// weren't written by this run are deleted afterwards.
+public final class GeneratedSourceWriter {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final Set<Path> generatedFiles = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger changedCount = new AtomicInteger();
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+    private final Path root;
+
+    public GeneratedSourceWriter(@NotNull final Path root) {
+        this.root = root;
+    }
+
+    public boolean write(@NotNull final String className, @NotNull final Consumer<Appendable> generator) {
+        final Path classPath = this.root.resolve(String.format("%s.java", className.replace(".", "/")));
+        if (!this.generatedFiles.add(classPath))
+            throw new CodeGenerationException("Unable to write class '%s' => Class was already written", className);
+
+        try {
+            // Stream the class into a temporary file next to the target and digest it while writing
+            Files.createDirectories(classPath.getParent());
+            final Path temporaryFile = Files.createTempFile(classPath.getParent(), "generated", ".tmp");
+            try {
+                final MessageDigest digest = GeneratedSourceWriter.newDigest();
+                try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new DigestOutputStream(Files
+                        .newOutputStream(temporaryFile), digest), StandardCharsets.UTF_8))) {
+                    generator.accept(writer);
+                }
+
+                // Keep the existing file if the content is equal, otherwise replace it
+                if (Files.isRegularFile(classPath) && Arrays.equals(digest.digest(), GeneratedSourceWriter
+                        .digestFile(classPath))) {
+                    this.unchangedCount.incrementAndGet();
+                    return false;
+                }
+
+                Files.move(temporaryFile, classPath, StandardCopyOption.REPLACE_EXISTING);
+                this.changedCount.incrementAndGet();
+                return true;
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException ex) {
+            throw new CodeGenerationException(ex);
+        }
+    }
+
+    public int deleteStaleFiles() {
+        if (!Files.isDirectory(this.root))
+            return 0;
+
+        final AtomicInteger deletedCount = new AtomicInteger();
+        try {
+            Files.walkFileTree(this.root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes ignored) throws IOException {
+                    if (!GeneratedSourceWriter.this.generatedFiles.contains(file)) {
+                        Files.delete(file);
+                        deletedCount.incrementAndGet();
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path directory, IOException ignored) throws IOException {
+                    if (!directory.equals(GeneratedSourceWriter.this.root) && GeneratedSourceWriter.isEmpty(directory))
+                        Files.delete(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException ex) {
+            throw new CodeGenerationException(ex);
+        }
+        return deletedCount.get();
+    }
+
+    public int getChangedCount() {
+        return this.changedCount.get();
+    }
+
+    public int getUnchangedCount() {
+        return this.unchangedCount.get();
+    }
+
+    private static boolean isEmpty(@NotNull final Path directory) throws IOException {
+        try (final Stream<Path> entries = Files.list(directory)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+
+    private static @NotNull byte[] digestFile(@NotNull final Path file) throws IOException {
+        final MessageDigest digest = GeneratedSourceWriter.newDigest();
+        final byte[] buffer = new byte[8192];
+        try (final InputStream input = Files.newInputStream(file)) {
+            int readBytes;
+            while ((readBytes = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, readBytes);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static @NotNull MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new CodeGenerationException(ex);
+        }
+    }
+
+}
@@ -2,22 +2,20 @@ package de.cacheoverflow.reactnativerustplugin.codegen;
 
 import de.cacheoverflow.reactnativerustplugin.codegen.expressions.IExpression;
 import de.cacheoverflow.reactnativerustplugin.exception.CodeGenerationException;
-import de.cacheoverflow.reactnativerustplugin.utils.StringHelper;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Modifier;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public class MethodBuilder {
 
-    private final StringBuilder internalMethodBuilder = new StringBuilder();
     private final ClassBuilder classBuilder;
 
     MethodBuilder(@NotNull final ClassBuilder classBuilder, final int access,
-                  @NotNull final String name, @NotNull final Map<String, String> parameters,
+                  @NotNull final String name, @NotNull final ParameterList parameters,
                   @Nullable String returnType, @NotNull final List<String> annotations) {
         this.classBuilder = classBuilder;
         ClassBuilder.EnumScopeType currentScope = this.classBuilder.scopeStack.peek();
@@ -25,33 +23,24 @@ public class MethodBuilder {
             throw new CodeGenerationException("Expected scope 'CLASS', but got '%s'", currentScope);
 
         for (String annotation : annotations) {
-            StringHelper.repeat(this.internalMethodBuilder, "    ", this.classBuilder.scopeStack.size());
-            this.internalMethodBuilder.append("@").append(annotation).append("\n");
+            this.classBuilder.indent(this.classBuilder.scopeStack.size());
+            this.classBuilder.append("@").append(annotation).append("\n");
         }
-        StringHelper.repeat(this.internalMethodBuilder, "    ", this.classBuilder.scopeStack.size());
-        this.internalMethodBuilder.append(Modifier.toString(access)).append(" ")
+        this.classBuilder.indent(this.classBuilder.scopeStack.size());
+        this.classBuilder.append(Modifier.toString(access)).append(" ")
                 .append(Optional.ofNullable(returnType).orElse("void")).append(" ").append(name);
 
         // Commit arguments
-        this.internalMethodBuilder.append("(");
-        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
-            this.internalMethodBuilder.append(parameter.getValue()).append(" ").append(parameter.getKey()).append(", ");
-        }
-
-        if (!parameters.isEmpty()) {
-            final int lastParameterEnd = this.internalMethodBuilder.lastIndexOf(", ");
-            this.internalMethodBuilder.replace(lastParameterEnd, lastParameterEnd + 2, "");
-        }
-
-        this.internalMethodBuilder.append(")");
+        this.appendParameters(parameters);
+        this.classBuilder.append(")");
         if (!Modifier.isNative(access)) {
             this.classBuilder.pushScope(ClassBuilder.EnumScopeType.FUNCTION);
-            this.internalMethodBuilder.append(" {\n");
-        } else this.internalMethodBuilder.append(";\n\n");
+            this.classBuilder.append(" {\n");
+        } else this.classBuilder.append(";\n\n");
     }
 
     MethodBuilder(@NotNull final ClassBuilder classBuilder, final int access,
-                         @NotNull final String name, @NotNull final Map<String, String> parameters,
+                         @NotNull final String name, @NotNull final ParameterList parameters,
                          @Nullable String returnType) {
         this(classBuilder, access, name, parameters, returnType, List.of());
     }
@@ -62,50 +51,47 @@ public class MethodBuilder {
         if (currentScope != ClassBuilder.EnumScopeType.CLASS)
             throw new CodeGenerationException("Expected scope 'CLASS', but got '%s'", currentScope);
 
-        StringHelper.repeat(this.internalMethodBuilder, "    ", this.classBuilder.scopeStack.size());
+        this.classBuilder.indent(this.classBuilder.scopeStack.size());
         this.classBuilder.pushScope(ClassBuilder.EnumScopeType.FUNCTION);
-        this.internalMethodBuilder.append("static {\n");
+        this.classBuilder.append("static {\n");
     }
 
     MethodBuilder(@NotNull final ClassBuilder classBuilder, final int access,
-                  @NotNull final Map<String, String> parameters) {
+                  @NotNull final ParameterList parameters) {
         this.classBuilder = classBuilder;
         ClassBuilder.EnumScopeType currentScope = this.classBuilder.scopeStack.peek();
         if (currentScope != ClassBuilder.EnumScopeType.CLASS)
             throw new CodeGenerationException("Expected scope 'CLASS', but got '%s'", currentScope);
 
-        StringHelper.repeat(this.internalMethodBuilder, "    ", this.classBuilder.scopeStack.size());
-        this.internalMethodBuilder.append(Modifier.toString(access)).append(" ").append(classBuilder.className);
+        this.classBuilder.indent(this.classBuilder.scopeStack.size());
+        this.classBuilder.append(Modifier.toString(access)).append(" ").append(classBuilder.className);
 
         // Commit arguments
-        this.internalMethodBuilder.append("(");
-        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
-            this.internalMethodBuilder.append(parameter.getValue()).append(" ").append(parameter.getKey()).append(", ");
-        }
-
-        if (!parameters.isEmpty()) {
-            final int lastParameterEnd = this.internalMethodBuilder.lastIndexOf(", ");
-            this.internalMethodBuilder.replace(lastParameterEnd, lastParameterEnd + 2, "");
-        }
-
-        this.internalMethodBuilder.append(") ");
+        this.appendParameters(parameters);
+        this.classBuilder.append(") ");
         if (!Modifier.isNative(access)) {
             this.classBuilder.pushScope(ClassBuilder.EnumScopeType.FUNCTION);
-            this.internalMethodBuilder.append("{\n");
-        } else this.internalMethodBuilder.append(";\n");
+            this.classBuilder.append("{\n");
+        } else this.classBuilder.append(";\n");
     }
 
     public @NotNull MethodBuilder addStatement(@NotNull final IExpression expression) {
-        StringHelper.repeat(this.internalMethodBuilder, "    ", this.classBuilder.scopeStack.size());
-        this.internalMethodBuilder.append(expression).append(";\n");
+        this.classBuilder.indent(this.classBuilder.scopeStack.size());
+        this.classBuilder.emit(expression).append(";\n");
         return this;
     }
 
     public void build() {
-        // Append this builder to the class builder
-        this.classBuilder.internalClassBuilder.append(this.internalMethodBuilder);
+        // The method was already written to the output of the class, only its scope has to be closed
         if (this.classBuilder.scopeStack.peek() == ClassBuilder.EnumScopeType.FUNCTION)
             this.classBuilder.popScope();
     }
 
+    private void appendParameters(@NotNull final ParameterList parameters) {
+        // Parameters are emitted in declaration order
+        this.classBuilder.append("(");
+        this.classBuilder.appendJoined(parameters.size(), (target, index) -> target.append(parameters.type(index))
+                .append(' ').append(parameters.name(index)));
+    }
+
 }
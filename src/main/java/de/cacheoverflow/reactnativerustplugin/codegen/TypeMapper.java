@@ -1,5 +1,6 @@
 package de.cacheoverflow.reactnativerustplugin.codegen;
 
+import de.cacheoverflow.reactnativerustplugin.exception.CodeGenerationException;
 import de.cacheoverflow.reactnativerustplugin.utils.Pair;
 import org.jetbrains.annotations.NotNull;
 
@@ -9,9 +10,17 @@ import java.util.Optional;
 
 public class TypeMapper {
 
-    private final Map<String, Pair<String, Boolean>> mappings = new HashMap<>();
+    // Forward index from Rust to Java type and reverse index from Java type to whether it's a default type. Both are
+    // filled while registering and replaced by immutable copies when the mapper is frozen.
+    private final Map<String, Pair<String, Boolean>> mappings;
+    private final Map<String, Boolean> defaultJavaTypes;
+    private final boolean frozen;
 
     public TypeMapper() {
+        this.mappings = new HashMap<>();
+        this.defaultJavaTypes = new HashMap<>();
+        this.frozen = false;
+
         // Rust Type Mappings
         this.registerIfNotExists("String", "String", true);
 
@@ -49,15 +58,32 @@ public class TypeMapper {
         this.registerIfNotExists("jni::objects::jsize", "int", true);
     }
 
+    private TypeMapper(@NotNull final TypeMapper mapper) {
+        this.mappings = Map.copyOf(mapper.mappings);
+        this.defaultJavaTypes = Map.copyOf(mapper.defaultJavaTypes);
+        this.frozen = true;
+    }
+
+    // Immutable copy of the current mappings, lookups need no locking and the copy can be shared between the code
+    // generation workers. Registrations after freezing only affect this mapper, not the frozen copy.
+    public @NotNull TypeMapper freeze() {
+        return this.frozen ? this : new TypeMapper(this);
+    }
+
     public void registerIfNotExists(@NotNull final String rustType, @NotNull final String javaType) {
         this.registerIfNotExists(rustType, javaType, false);
     }
 
     public void registerIfNotExists(@NotNull final String rustType, @NotNull final String javaType, final boolean standard) {
+        if (this.frozen)
+            throw new CodeGenerationException("Unable to register mapping of '%s' => Type mapper is frozen", rustType);
         if (mappings.get(rustType) != null)
             return;
 
-        this.mappings.put(rustType, new Pair<>(javaType.replace("\"", ""), standard));
+        // A Java type is default if any default Rust type maps to it
+        final String mappedType = javaType.replace("\"", "");
+        this.mappings.put(rustType, new Pair<>(mappedType, standard));
+        this.defaultJavaTypes.merge(mappedType, standard, Boolean::logicalOr);
     }
 
     public @NotNull String map(@NotNull final String rustType) {
@@ -76,10 +102,7 @@ public class TypeMapper {
     }
 
     public boolean isDefaultTypeJava(@NotNull final String javaType) {
-        return this.mappings.values().stream().filter(stringBooleanPair -> stringBooleanPair.getFirst().equals(javaType))
-                .map(Pair::getSecond)
-                .findFirst().orElse(false);
+        return this.defaultJavaTypes.getOrDefault(javaType, false);
     }
 
-
 }
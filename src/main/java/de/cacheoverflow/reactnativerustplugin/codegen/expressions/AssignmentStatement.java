@@ -2,6 +2,8 @@ package de.cacheoverflow.reactnativerustplugin.codegen.expressions;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+
 public class AssignmentStatement implements IExpression {
 
     private final IExpression expression1;
@@ -12,8 +14,15 @@ public class AssignmentStatement implements IExpression {
         this.expression2 = expression2;
     }
 
+    @Override
+    public void emitTo(@NotNull final Appendable output) throws IOException {
+        this.expression1.emitTo(output);
+        output.append(" = ");
+        this.expression2.emitTo(output);
+    }
+
     @Override
     public @NotNull String toString() {
-        return this.expression1 + " = " + this.expression2;
+        return IExpression.render(this);
     }
 }
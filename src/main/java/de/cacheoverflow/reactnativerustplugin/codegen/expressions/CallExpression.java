@@ -1,35 +1,39 @@
 package de.cacheoverflow.reactnativerustplugin.codegen.expressions;
 
+import de.cacheoverflow.reactnativerustplugin.utils.StringHelper;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.util.List;
 
 public class CallExpression implements IExpression {
 
     private final String name;
-    private final Collection<IExpression> arguments;
+    private final List<IExpression> arguments;
     private final String postString;
 
     // TODO: Remove postString / It was added because I'm lazy
-    public CallExpression(@NotNull final String name, @NotNull final Collection<IExpression> arguments,
+    public CallExpression(@NotNull final String name, @NotNull final List<IExpression> arguments,
                           @NotNull final String postString) {
         this.name = name;
         this.arguments = arguments;
         this.postString = postString;
     }
 
-    public CallExpression(@NotNull final String name, @NotNull final Collection<IExpression> arguments) {
+    public CallExpression(@NotNull final String name, @NotNull final List<IExpression> arguments) {
         this(name, arguments, "");
     }
 
+    @Override
+    public void emitTo(@NotNull final Appendable output) throws IOException {
+        output.append(this.name).append('(');
+        StringHelper.appendJoined(output, this.arguments.size(), ", ", (target, index) -> this.arguments.get(index)
+                .emitTo(target));
+        output.append(')').append(this.postString);
+    }
+
     @Override
     public @NotNull String toString() {
-        final StringBuilder stringBuilder = new StringBuilder(name).append("(");
-        for (final IExpression argument : arguments) {
-            stringBuilder.append(argument).append(", ");
-        }
-        final int commaIndex = stringBuilder.append(")").lastIndexOf(", ");
-        return (commaIndex != -1 ? stringBuilder.replace(commaIndex, commaIndex + 2, "").toString() :
-                stringBuilder.toString()) + postString;
+        return IExpression.render(this);
     }
 }
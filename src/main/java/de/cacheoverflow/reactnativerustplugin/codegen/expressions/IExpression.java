@@ -1,9 +1,26 @@
 package de.cacheoverflow.reactnativerustplugin.codegen.expressions;
 
+import de.cacheoverflow.reactnativerustplugin.exception.CodeGenerationException;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+
 public interface IExpression {
 
+    // Writes the expression directly into the output, nested expressions are emitted into the same output instead of
+    // being rendered to strings first
+    void emitTo(@NotNull final Appendable output) throws IOException;
+
     @NotNull String toString();
 
+    static @NotNull String render(@NotNull final IExpression expression) {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            expression.emitTo(builder);
+        } catch (IOException ex) {
+            throw new CodeGenerationException(ex); // Unreachable, a StringBuilder doesn't throw
+        }
+        return builder.toString();
+    }
+
 }
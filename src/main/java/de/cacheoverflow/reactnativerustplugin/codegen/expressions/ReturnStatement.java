@@ -2,6 +2,8 @@ package de.cacheoverflow.reactnativerustplugin.codegen.expressions;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+
 public class ReturnStatement implements IExpression {
 
     private final IExpression expression;
@@ -10,9 +12,15 @@ public class ReturnStatement implements IExpression {
         this.expression = expression;
     }
 
+    @Override
+    public void emitTo(@NotNull final Appendable output) throws IOException {
+        output.append("return ");
+        this.expression.emitTo(output);
+    }
+
     @Override
     public @NotNull String toString() {
-        return "return " + this.expression;
+        return IExpression.render(this);
     }
 
 }
@@ -3,6 +3,8 @@ package de.cacheoverflow.reactnativerustplugin.codegen.expressions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+
 public class ValueExpression implements IExpression {
 
     private final Object value;
@@ -12,15 +14,23 @@ public class ValueExpression implements IExpression {
     }
 
     @Override
-    public @NotNull String toString() {
-        if (this.value == null)
-            return "null";
+    public void emitTo(@NotNull final Appendable output) throws IOException {
+        if (this.value == null) {
+            output.append("null");
+            return;
+        }
 
-        if (this.value instanceof String) {
-            return String.format("\"%s\"", this.value);
+        if (this.value instanceof String string) {
+            output.append('"').append(string).append('"');
+            return;
         }
 
-        return this.value.toString();
+        output.append(this.value.toString());
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return IExpression.render(this);
     }
 
 }
@@ -2,6 +2,8 @@ package de.cacheoverflow.reactnativerustplugin.codegen.expressions;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+
 public class VariableExpression implements IExpression {
 
     private final String name;
@@ -12,9 +14,16 @@ public class VariableExpression implements IExpression {
         this.isThis = isThis;
     }
 
+    @Override
+    public void emitTo(@NotNull final Appendable output) throws IOException {
+        if (this.isThis)
+            output.append("this.");
+        output.append(this.name);
+    }
+
     @Override
     public @NotNull String toString() {
-        return (this.isThis ? "this." : "") + this.name;
+        return IExpression.render(this);
     }
 
     public @NotNull String getName() {
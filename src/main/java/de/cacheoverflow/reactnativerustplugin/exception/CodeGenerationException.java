@@ -8,4 +8,8 @@ public class CodeGenerationException extends RuntimeException {
         super(String.format(message, arguments));
     }
 
+    public CodeGenerationException(@NotNull final Throwable cause) {
+        super(cause);
+    }
+
 }
@@ -1,5 +1,6 @@
 package de.cacheoverflow.reactnativerustplugin.extension;
 
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.EnumParseMode;
 import de.cacheoverflow.reactnativerustplugin.utils.PathHelper;
 import org.gradle.api.Project;
 import org.gradle.api.file.DirectoryProperty;
@@ -21,6 +22,9 @@ public class PluginBaseExtension {
     private final Property<String> basePackage;
     private final Property<String> rustBaseFolder;
     private final Property<Byte> androidApiVersion;
+    private final Property<Integer> analyzerParallelism;
+    private final Property<EnumParseMode> analyzerParseMode;
+    private final Property<Boolean> analyzerSkipFunctionBodies;
     private final RegularFileProperty cargoFile;
     private final DirectoryProperty ndkFolder;
     private final Path projectFolder;
@@ -33,6 +37,10 @@ public class PluginBaseExtension {
         this.ndkFolder = objectFactory.directoryProperty();
         this.cargoFile = objectFactory.fileProperty();
         this.androidApiVersion = objectFactory.property(Byte.class);
+        this.analyzerParallelism = objectFactory.property(Integer.class)
+                .convention(Runtime.getRuntime().availableProcessors());
+        this.analyzerParseMode = objectFactory.property(EnumParseMode.class).convention(EnumParseMode.TWO_STAGE);
+        this.analyzerSkipFunctionBodies = objectFactory.property(Boolean.class).convention(true);
 
         Optional.ofNullable(System.getenv("NDK_HOME")).ifPresent(path -> this.ndkFolder.set(new File(path)));
         PathHelper.findFileInPath("cargo").ifPresent(path -> this.cargoFile.set(path.toFile()));
@@ -51,6 +59,18 @@ public class PluginBaseExtension {
         return this.androidApiVersion;
     }
 
+    public @NotNull Property<Integer> getAnalyzerParallelism() {
+        return this.analyzerParallelism;
+    }
+
+    public @NotNull Property<EnumParseMode> getAnalyzerParseMode() {
+        return this.analyzerParseMode;
+    }
+
+    public @NotNull Property<Boolean> getAnalyzerSkipFunctionBodies() {
+        return this.analyzerSkipFunctionBodies;
+    }
+
     public @NotNull Property<String> getRustBaseFolder() {
         return this.rustBaseFolder;
     }
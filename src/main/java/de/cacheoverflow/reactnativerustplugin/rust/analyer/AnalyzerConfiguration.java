@@ -0,0 +1,16 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import org.jetbrains.annotations.NotNull;
+
+public record AnalyzerConfiguration(int parallelism, @NotNull EnumParseMode parseMode, boolean skipFunctionBodies) {
+
+    public AnalyzerConfiguration {
+        if (parallelism < 1)
+            throw new IllegalArgumentException(String.format("Parallelism must be at least 1, but got %s", parallelism));
+    }
+
+    public static @NotNull AnalyzerConfiguration defaults() {
+        return new AnalyzerConfiguration(Runtime.getRuntime().availableProcessors(), EnumParseMode.TWO_STAGE, true);
+    }
+
+}
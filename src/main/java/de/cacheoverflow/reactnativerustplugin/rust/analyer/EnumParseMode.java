@@ -0,0 +1,14 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+public enum EnumParseMode {
+
+    // Full LL prediction for every file, slowest but always exact
+    LL,
+
+    // SLL prediction only, fastest but may report syntax errors for valid but ambiguous sources
+    SLL,
+
+    // SLL prediction with bail out on the first error, files with errors are parsed again with full LL prediction
+    TWO_STAGE
+
+}
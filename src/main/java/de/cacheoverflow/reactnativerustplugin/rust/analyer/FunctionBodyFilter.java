@@ -0,0 +1,86 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
+import org.antlr.v4.runtime.Token;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FunctionBodyFilter {
+
+    private FunctionBodyFilter() {
+        throw new UnsupportedOperationException();
+    }
+
+    // Removes all hidden tokens and the content of all function bodies, so the parser only sees `fn name(..) {}`
+    public static @NotNull List<Token> filter(@NotNull final List<? extends Token> tokens) {
+        final List<Token> defaultTokens = new ArrayList<>(tokens.size());
+        for (final Token token : tokens) {
+            if (token.getChannel() == Token.DEFAULT_CHANNEL) {
+                defaultTokens.add(token);
+            }
+        }
+
+        final List<Token> filteredTokens = new ArrayList<>(defaultTokens.size());
+        int index = 0;
+        while (index < defaultTokens.size()) {
+            final Token token = defaultTokens.get(index++);
+            filteredTokens.add(token);
+            if (token.getType() != RustLexer.KW_FN || index == defaultTokens.size()
+                    || !FunctionBodyFilter.isIdentifier(defaultTokens.get(index).getType()))
+                continue;
+
+            // Search opening brace of body, function pointer types like 'fn(u8) -> u8' are skipped above because
+            // they have no name and declarations without body end with a semicolon
+            final int bodyStart = FunctionBodyFilter.findBodyStart(defaultTokens, index);
+            if (bodyStart == -1)
+                continue;
+
+            // Keep the signature and both braces of the body, but drop everything between the braces
+            filteredTokens.addAll(defaultTokens.subList(index, bodyStart + 1));
+            int depth = 1;
+            index = bodyStart + 1;
+            while (index < defaultTokens.size()) {
+                final int type = defaultTokens.get(index++).getType();
+                if (type == RustLexer.LCURLYBRACE) {
+                    depth++;
+                } else if (type == RustLexer.RCURLYBRACE && --depth == 0) {
+                    filteredTokens.add(defaultTokens.get(index - 1));
+                    break;
+                }
+            }
+        }
+        return filteredTokens;
+    }
+
+    static boolean isIdentifier(final int type) {
+        // Matches the identifier rule of the parser
+        return type == RustLexer.NON_KEYWORD_IDENTIFIER || type == RustLexer.RAW_IDENTIFIER
+                || type == RustLexer.KW_MACRORULES;
+    }
+
+    private static int findBodyStart(@NotNull final List<Token> tokens, final int signatureStart) {
+        int depth = 0;
+        for (int i = signatureStart; i < tokens.size(); i++) {
+            switch (tokens.get(i).getType()) {
+                case RustLexer.LPAREN, RustLexer.LSQUAREBRACKET -> depth++;
+                case RustLexer.RPAREN, RustLexer.RSQUAREBRACKET -> {
+                    if (depth-- == 0)
+                        return -1;
+                }
+                case RustLexer.SEMI, RustLexer.RCURLYBRACE -> {
+                    if (depth == 0)
+                        return -1;
+                }
+                case RustLexer.LCURLYBRACE -> {
+                    if (depth == 0)
+                        return i;
+                }
+                default -> {}
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,42 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustParser;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.jetbrains.annotations.NotNull;
+
+// Creates the lexers and parsers of the analysis. All instances share the static DFA caches of the generated lexer
+// and parser, so the parser service can warm them up through the same factory the analyzer uses.
+public final class RustParserFactory {
+
+    public @NotNull RustLexer newLexer(@NotNull final CharStream charStream) {
+        final RustLexer lexer = new RustLexer(charStream);
+        lexer.removeErrorListeners();
+        return lexer;
+    }
+
+    public @NotNull RustParser newParser(@NotNull final TokenStream tokenStream) {
+        final RustParser parser = new RustParser(tokenStream);
+        parser.removeErrorListeners();
+        return parser;
+    }
+
+    public int getCachedStateCount() {
+        final RustLexer lexer = this.newLexer(CharStreams.fromString(""));
+        final RustParser parser = this.newParser(new CommonTokenStream(lexer));
+
+        int stateCount = 0;
+        for (final DFA dfa : lexer.getInterpreter().decisionToDFA) {
+            stateCount += dfa.states.size();
+        }
+        for (final DFA dfa : parser.getInterpreter().decisionToDFA) {
+            stateCount += dfa.states.size();
+        }
+        return stateCount;
+    }
+
+}
@@ -0,0 +1,89 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerValidationException;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustAttribute;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustProject;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class RustTypeTable {
+
+    private final Map<String, Entry> entries;
+
+    private RustTypeTable(@NotNull final Map<String, Entry> entries) {
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    public static @NotNull RustTypeTable build(@NotNull final Collection<RustProject> projects) {
+        // Index all structures by their qualified path, in the order of projects and files
+        final Map<String, Entry> entries = new LinkedHashMap<>();
+        for (final RustProject project : projects) {
+            for (final RustFile file : project.files()) {
+                for (final RustStruct struct : file.structs()) {
+                    // A struct may be defined multiple times, e.g. gated by different cfg attributes. Only exported
+                    // structs have to be unique, they win over other definitions with the same path.
+                    final Entry entry = new Entry(project.projectName(), struct, findExportAttribute(struct));
+                    final Entry existingEntry = entries.get(struct.name());
+                    if (existingEntry != null && existingEntry.isExported()) {
+                        if (entry.isExported()) {
+                            throw new AnalyzerValidationException("Unable to index struct '%s' of project '%s' => " +
+                                    "Exported struct is defined twice", struct.name(), project.projectName());
+                        }
+                        continue;
+                    }
+                    entries.put(struct.name(), entry);
+                }
+            }
+        }
+        return new RustTypeTable(entries);
+    }
+
+    private static @Nullable RustAttribute findExportAttribute(@NotNull final RustStruct struct) {
+        for (final RustAttribute attribute : struct.attributes()) {
+            if (attribute.name().equals(SourceFileAnalyzer.EXPORT_ATTRIBUTE_NAME))
+                return attribute;
+        }
+        return null;
+    }
+
+    public @Nullable Entry lookup(@NotNull final String path) {
+        return this.entries.get(path);
+    }
+
+    public boolean isExported(@NotNull final String path) {
+        final Entry entry = this.entries.get(path);
+        return entry != null && entry.isExported();
+    }
+
+    public @NotNull Collection<Entry> entries() {
+        return this.entries.values();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public record Entry(@NotNull String projectName, @NotNull RustStruct struct, @Nullable RustAttribute exportAttribute) {
+
+        public boolean isExported() {
+            return this.exportAttribute != null;
+        }
+
+        public @Nullable String javaClassName() {
+            if (this.exportAttribute == null)
+                return null;
+
+            final String className = this.exportAttribute.parameters().get("class");
+            return className == null ? null : className.replace("\"", "");
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerException;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CodePointBuffer;
+import org.antlr.v4.runtime.CodePointCharStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class SourceBuffer {
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024 * 1024;
+    private static final ThreadLocal<SourceBuffer> THREAD_BUFFERS = ThreadLocal.withInitial(SourceBuffer::new);
+
+    // Malformed input is reported like Files.readString does, instead of being replaced silently
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private char[] chars = new char[0];
+    private int[] codePoints = new int[0];
+    private int length;
+
+    private SourceBuffer() {
+    }
+
+    static @NotNull SourceBuffer get() {
+        return THREAD_BUFFERS.get();
+    }
+
+    void read(@NotNull final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8)
+                throw new AnalyzerException("Unable to read source file '%s' with %s bytes", file.toAbsolutePath(), size);
+
+            if (this.bytes.length < size) {
+                this.bytes = new byte[(int) size];
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(this.bytes, 0, (int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // Read until the buffer is full or the end of the file is reached
+            }
+            this.length = buffer.position();
+        }
+    }
+
+    // The returned stream is backed by this buffer, so it's only valid until the next read on this thread
+    @NotNull CharStream toCharStream(@NotNull final String sourceName) {
+        // ASCII sources are code points already, so the lexer can read the bytes directly
+        if (this.isAscii()) {
+            return CodePointCharStream.fromBuffer(CodePointBuffer.withBytes(ByteBuffer.wrap(this.bytes, 0,
+                    this.length)), sourceName);
+        }
+
+        if (this.codePoints.length < this.length) {
+            this.chars = new char[this.length];
+            this.codePoints = new int[this.length];
+        }
+        final int codePointCount = this.decodeUtf8(sourceName);
+        return CodePointCharStream.fromBuffer(CodePointBuffer.withInts(IntBuffer.wrap(this.codePoints, 0,
+                codePointCount)), sourceName);
+    }
+
+    void trim() {
+        // Don't keep the buffers of huge sources alive on the thread
+        if (this.bytes.length > MAX_RETAINED_CAPACITY) {
+            this.bytes = new byte[INITIAL_CAPACITY];
+        }
+
+        if (this.codePoints.length > MAX_RETAINED_CAPACITY) {
+            this.chars = new char[0];
+            this.codePoints = new int[0];
+        }
+    }
+
+    byte @NotNull [] bytes() {
+        return this.bytes;
+    }
+
+    int length() {
+        return this.length;
+    }
+
+    private boolean isAscii() {
+        for (int i = 0; i < this.length; i++) {
+            if (this.bytes[i] < 0)
+                return false;
+        }
+        return true;
+    }
+
+    private int decodeUtf8(@NotNull final String sourceName) {
+        // Decode into the reused char buffer, a UTF-8 source never has more chars than bytes
+        final ByteBuffer input = ByteBuffer.wrap(this.bytes, 0, this.length);
+        final CharBuffer output = CharBuffer.wrap(this.chars);
+        this.decoder.reset();
+        CoderResult result = this.decoder.decode(input, output, true);
+        if (!result.isError())
+            result = this.decoder.flush(output);
+        if (result.isError()) {
+            throw new AnalyzerException("Unable to read source file '%s' => Malformed UTF-8 input at byte %s",
+                    sourceName, input.position());
+        }
+
+        // Combine surrogate pairs to the code points the lexer expects
+        final int charCount = output.position();
+        int count = 0;
+        int index = 0;
+        while (index < charCount) {
+            final int codePoint = Character.codePointAt(this.chars, index, charCount);
+            this.codePoints[count++] = codePoint;
+            index += Character.charCount(codePoint);
+        }
+        return count;
+    }
+
+}
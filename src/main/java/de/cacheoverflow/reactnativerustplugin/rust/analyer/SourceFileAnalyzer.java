@@ -1,232 +1,488 @@
 package de.cacheoverflow.reactnativerustplugin.rust.analyer;
 
-import com.electronwill.nightconfig.core.Config;
-import com.electronwill.nightconfig.core.UnmodifiableConfig;
-import com.electronwill.nightconfig.core.file.FileConfig;
 import de.cacheoverflow.reactnativerustplugin.codegen.TypeMapper;
 import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerException;
 import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerProjectException;
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerValidationException;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.cache.AnalysisCache;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustAttribute;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFunction;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustProject;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics.EnumAnalysisMode;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics.FileMetrics;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics.SyntaxErrorCounter;
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifest;
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifestLoader;
 import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
 import de.cacheoverflow.reactnativerustplugin.rust.parser.RustParser;
-import org.antlr.v4.runtime.CharStreams;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
-public final class SourceFileAnalyzer {
-
-    // TODO: Implement Validation Pass with Type Table per Project
-
-    private final List<RustProject> projects = new ArrayList<>();
+public final class SourceFileAnalyzer implements AutoCloseable {
+
+    public static final String EXPORT_ATTRIBUTE_NAME = "jni_export";
+    private static final byte[] EXPORT_MARKER = EXPORT_ATTRIBUTE_NAME.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] STRUCT_MARKER = "struct".getBytes(StandardCharsets.US_ASCII);
+
+    private final Map<Path, RustProject> projects = new ConcurrentHashMap<>();
+    private final SymbolTable symbolTable = new SymbolTable();
+    private final LongAdder fallbackParseCount = new LongAdder();
+    private final LongAdder parsedFileCount = new LongAdder();
+    private final LongAdder skippedFileCount = new LongAdder();
+    private final LongAdder cachedFileCount = new LongAdder();
+    private final Queue<FileMetrics> fileMetrics = new ConcurrentLinkedQueue<>();
+    private final AnalyzerConfiguration configuration;
+    private final ForkJoinPool analyzerPool;
+    private final AnalysisCache analysisCache;
+    private final CargoManifestLoader manifestLoader;
+    private final RustParserFactory parserFactory;
     private final Logger logger;
 
     public SourceFileAnalyzer(@NotNull final Logger logger) {
+        this(logger, AnalyzerConfiguration.defaults(), null);
+    }
+
+    public SourceFileAnalyzer(@NotNull final Logger logger, @NotNull final AnalyzerConfiguration configuration,
+                              @Nullable final AnalysisCache analysisCache) {
+        this(logger, configuration, analysisCache, new CargoManifestLoader());
+    }
+
+    public SourceFileAnalyzer(@NotNull final Logger logger, @NotNull final AnalyzerConfiguration configuration,
+                              @Nullable final AnalysisCache analysisCache,
+                              @NotNull final CargoManifestLoader manifestLoader) {
+        this(logger, configuration, analysisCache, manifestLoader, new RustParserFactory());
+    }
+
+    public SourceFileAnalyzer(@NotNull final Logger logger, @NotNull final AnalyzerConfiguration configuration,
+                              @Nullable final AnalysisCache analysisCache,
+                              @NotNull final CargoManifestLoader manifestLoader,
+                              @NotNull final RustParserFactory parserFactory) {
         this.logger = logger;
+        this.configuration = configuration;
+        this.analyzerPool = new ForkJoinPool(configuration.parallelism());
+        this.analysisCache = analysisCache;
+        this.manifestLoader = manifestLoader;
+        this.parserFactory = parserFactory;
     }
 
-    public void analyzeProject(@NotNull final Path directory) throws AnalyzerException {
-        this.logger.info("Beginning Source File Analysis in '{}'", directory.toAbsolutePath());
+    public void analyzeProjects(@NotNull final Collection<Path> directories) throws AnalyzerException {
+        // Analyze every project as own task, the file tasks of the projects are shared on the same pool
+        final long startTime = System.nanoTime();
+        final List<ForkJoinTask<?>> projectTasks = new ArrayList<>();
+        for (final Path directory : directories) {
+            for (final CargoManifest manifest : this.manifestLoader.loadPackages(directory)) {
+                projectTasks.add(this.analyzerPool.submit(() -> this.analyzeProject(manifest)));
+            }
+        }
 
-        // Validate Cargo.toml file
-        final Path cargoFile = directory.resolve("Cargo.toml");
-        if (!Files.exists(cargoFile) || !Files.isRegularFile(cargoFile))
-            throw new AnalyzerProjectException("Directory '%s' isn't a Cargo Project (Cargo.toml is missing)", directory);
+        for (final ForkJoinTask<?> projectTask : projectTasks) {
+            projectTask.join();
+        }
 
-        // Read Cargo.toml
-        String packageName;
-        final List<String> dependencies = new ArrayList<>();
-        try (FileConfig fileConfig = FileConfig.of(cargoFile)) {
-            fileConfig.load();
+        // Summarize the analysis instead of reporting every file
+        this.logger.info("Analysis Pass: {} parsed, {} without exports and {} cached source files in {} ms",
+                this.parsedFileCount.sum(), this.skippedFileCount.sum(), this.cachedFileCount.sum(),
+                (System.nanoTime() - startTime) / 1_000_000L);
+    }
 
-            packageName = fileConfig.get("package.name");
-            fileConfig.<Config>getOptional("dependencies").ifPresent(config -> {
-                dependencies.addAll(config.entrySet().stream().map(UnmodifiableConfig.Entry::getKey).toList());
-            });
+    public void analyzeProject(@NotNull final Path directory) throws AnalyzerException {
+        // The directory may be a workspace, every package of it is analyzed as own project
+        for (final CargoManifest manifest : this.manifestLoader.loadPackages(directory)) {
+            this.analyzeProject(manifest);
         }
+    }
+
+    public void analyzeProject(@NotNull final CargoManifest manifest) throws AnalyzerException {
+        final Path directory = manifest.directory();
+        this.logger.info("Beginning Source File Analysis in '{}'", directory);
 
         // Validate src folder
         final Path sourceDirectory = directory.resolve("src");
         if (!Files.exists(sourceDirectory) || !Files.isDirectory(sourceDirectory))
             throw new AnalyzerProjectException("Directory '%s' isn't a Cargo Project (Source Folder is missing)", directory);
 
-        // Create stream of source files
-        List<RustFile> projectFiles = new ArrayList<>();
+        // Collect source files, sorted to keep the file order independent of the file system
+        final List<Path> sourceFiles;
         try (final Stream<Path> sourceStream = Files.walk(sourceDirectory)) {
-            for (final Path path : sourceStream.toList()) {
-                // Ignore directories
-                if (!Files.isRegularFile(path))
-                    continue;
-
-                // Ignore files without extension
-                final String name = path.getFileName().toString();
-                if (!name.contains("."))
-                    continue;
-
-                // Check if file is a rust source file
-                if (!name.substring(name.lastIndexOf(".") + 1).equals("rs"))
-                    continue;
-
-                // Analyze single file
-                this.analyzeFile(sourceDirectory, path, projectFiles);
-            }
-
-            this.logger.info("Successfully analyzed {} source files in '{}'", projectFiles.size(), directory.toAbsolutePath());
-            this.projects.add(new RustProject(packageName, projectFiles, dependencies));
+            sourceFiles = sourceStream.filter(SourceFileAnalyzer::isRustSourceFile).sorted().toList();
         } catch (IOException ex) {
             throw new AnalyzerException(ex);
         }
+
+        // Analyze all files concurrently and merge them in the order of the sorted source files
+        final List<ForkJoinTask<RustFile>> analyzeTasks = new ArrayList<>();
+        for (final Path path : sourceFiles) {
+            analyzeTasks.add(this.analyzerPool.submit(() -> this.analyzeFile(sourceDirectory, path)));
+        }
+
+        final List<RustFile> projectFiles = new ArrayList<>();
+        for (final ForkJoinTask<RustFile> analyzeTask : analyzeTasks) {
+            projectFiles.add(analyzeTask.join());
+        }
+
+        this.logger.info("Successfully analyzed {} source files in '{}' with parallelism of {}", projectFiles.size(),
+                directory, this.analyzerPool.getParallelism());
+        this.projects.put(directory, new RustProject(Objects.requireNonNull(manifest.packageName()),
+                manifest.getCrateName(), projectFiles, manifest.dependencies()));
     }
 
     public void analyzeFile(@NotNull final Path sourceDirectory, @NotNull final Path file,
                             @NotNull final List<RustFile> projectFiles) throws AnalyzerException {
-        // Information to the user about the analysis
-        this.logger.info("Analyze rust source file '{}'", file.toAbsolutePath());
+        projectFiles.add(this.analyzeFile(sourceDirectory, file));
+    }
+
+    public @NotNull RustFile analyzeFile(@NotNull final Path sourceDirectory, @NotNull final Path file)
+            throws AnalyzerException {
+        // The source buffer is reused by all files analyzed on this thread
+        final SourceBuffer sourceBuffer = SourceBuffer.get();
         try {
+            // Read file and return analysis result of previous run if the file's content hash hasn't changed
+            sourceBuffer.read(file);
+            final byte[] fileHash = this.analysisCache != null ? AnalysisCache.hash(sourceBuffer.bytes(),
+                    sourceBuffer.length()) : null;
+            if (this.analysisCache != null) {
+                final RustFile cachedFile = this.analysisCache.lookup(file, fileHash, this.symbolTable);
+                if (cachedFile != null) {
+                    this.logger.debug("Reuse cached analysis of unchanged rust source file '{}'", file);
+                    this.cachedFileCount.increment();
+                    this.fileMetrics.add(new FileMetrics(file, EnumAnalysisMode.CACHED, sourceBuffer.length(), 0, 0,
+                            0, 0, 0));
+                    return cachedFile;
+                }
+            }
+
+            // Skip the parse of files without any export, the imports of a file are only used to resolve the types
+            // of its own exports. The names of the structs are kept, so the validation reports a struct used by the
+            // exports of another file as not exported instead of unknown.
+            final String modulePath = this.getRustModulePath(sourceDirectory, file);
+            if (!SourceFileAnalyzer.containsMarker(sourceBuffer.bytes(), sourceBuffer.length(), EXPORT_MARKER)) {
+                this.logger.debug("Skip rust source file '{}' without exports", file);
+                this.skippedFileCount.increment();
+                this.fileMetrics.add(new FileMetrics(file, EnumAnalysisMode.SKIPPED, sourceBuffer.length(), 0, 0, 0,
+                        0, 0));
+                final List<RustStruct> structs = SourceFileAnalyzer.containsMarker(sourceBuffer.bytes(),
+                        sourceBuffer.length(), STRUCT_MARKER) ? this.scanStructs(sourceBuffer, file) : List.of();
+                final RustFile rustFile = new RustFile(modulePath, List.of(), structs, Map.of());
+                if (this.analysisCache != null) {
+                    this.analysisCache.store(file, fileHash, rustFile);
+                }
+                return rustFile;
+            }
+
             // Tokenize
-            final String fileSource = Files.readString(file);
-            final RustLexer lexer = new RustLexer(CharStreams.fromString(fileSource));
-            final CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+            this.logger.debug("Analyze rust source file '{}'", file);
+            this.parsedFileCount.increment();
+            final SyntaxErrorCounter lexerErrorCounter = new SyntaxErrorCounter();
+            final SyntaxErrorCounter parserErrorCounter = new SyntaxErrorCounter();
+            final long lexStartTime = System.nanoTime();
+            final RustLexer lexer = this.parserFactory.newLexer(sourceBuffer.toCharStream(file.toString()));
+            lexer.addErrorListener(lexerErrorCounter);
+            final CommonTokenStream tokenStream = new CommonTokenStream(this.configuration.skipFunctionBodies() ?
+                    new ListTokenSource(FunctionBodyFilter.filter(lexer.getAllTokens()), lexer.getSourceName()) : lexer);
             tokenStream.fill();
 
-            // Parse the lexer-generated tokens and walk over AST
-            final RustParser parser = new RustParser(tokenStream);
-            parser.removeErrorListeners();
+            // Parse the lexer-generated tokens, the errors are counted instead of printed
+            final long parseStartTime = System.nanoTime();
+            final RustParser parser = this.parserFactory.newParser(tokenStream);
+            parser.addErrorListener(parserErrorCounter);
+            final ParsedCrate parsedCrate = this.parseCrate(file, parser, parserErrorCounter);
 
+            // Walk over AST
+            final long extractStartTime = System.nanoTime();
             List<RustFunction> functions = new ArrayList<>();
             List<RustStruct> structures = new ArrayList<>();
-            List<String> imports = new ArrayList<>();
-            ParseTreeWalker.DEFAULT.walk(new SourceFileAnalyzerListener(functions, structures, imports), parser.crate());
+            Map<String, String> imports = new LinkedHashMap<>();
+            ParseTreeWalker.DEFAULT.walk(new SourceFileAnalyzerListener(functions, structures, imports,
+                            this.symbolTable), parsedCrate.crate());
+
+            // Record metrics, files with syntax errors may have produced a partial tree
+            final long extractEndTime = System.nanoTime();
+            final int syntaxErrorCount = lexerErrorCounter.getSyntaxErrorCount() + parserErrorCounter
+                    .getSyntaxErrorCount();
+            this.fileMetrics.add(new FileMetrics(file, parsedCrate.mode(), sourceBuffer.length(),
+                    parseStartTime - lexStartTime, extractStartTime - parseStartTime, extractEndTime - extractStartTime,
+                    tokenStream.size(), syntaxErrorCount));
+            if (syntaxErrorCount > 0) {
+                this.logger.warn("Rust source file '{}' has {} syntax errors, exports may be missing", file,
+                        syntaxErrorCount);
+            }
 
-            // Complete analyzed file to module file
-            String modulePath = this.getRustModulePath(sourceDirectory, file);
-            projectFiles.add(new RustFile(modulePath, functions, structures, imports));
+            // Complete analyzed file to module file, files with syntax errors aren't cached so they are parsed and
+            // reported again on the next run
             this.logger.debug("Modulated path to '{}'", modulePath);
+            final RustFile rustFile = new RustFile(modulePath, functions, structures, imports);
+            if (this.analysisCache != null && syntaxErrorCount == 0) {
+                this.analysisCache.store(file, fileHash, rustFile);
+            }
+            return rustFile;
         } catch (IOException ex) {
             throw new AnalyzerException(ex);
+        } finally {
+            sourceBuffer.trim();
         }
     }
 
-    public void reformatFunctions(@NotNull final TypeMapper typeMapper) {
-        this.logger.info("Reformat function arguments from pathless function types to path-ful types (Function Prepare Pass)");
-        for (RustProject project : this.projects) {
-            for (RustFile file : project.files()) {
-                final List<RustFunction> newFunctions = new ArrayList<>();
-                for (RustFunction function : file.functions()) {
-                    this.logger.info("Modifying types in function '{}' ({}) -> {}", function.functionName(),
-                            function.parameters().entrySet().stream().map(entry -> String.format("%s: %s", entry.getKey(),
-                                            entry.getValue()))
-                            .collect(Collectors.joining(", ")), function.returnType().orElse("void"));
-
-                    // Enumerate all parameters in function
-                    for (final Map.Entry<String, String> parameter : function.parameters().entrySet()) {
-                        // Only modify type name when name isn't already specified with path
-                        if (!parameter.getValue().contains("::")) {
-                            // Replace type names with new type names
-                            function.parameters().put(parameter.getKey(), this.reformatType(typeMapper, parameter.getValue(),
-                                    project.projectName(), file));
-                        }
-                    }
-                    newFunctions.add(new RustFunction(function.attributes(), function.functionName(), function.parameters(),
-                            function.returnType().map(type -> this.reformatType(typeMapper, type, project.projectName(), file))));
-
-                    // Send information to user
-                    this.logger.info("Finished type modification in struct '{}' ({}) -> {}", function.functionName(), function
-                            .parameters().entrySet().stream().map(entry -> String.format("%s: %s", entry.getKey(),
-                                    entry.getValue())), function.returnType().orElse("void"));
+    private @NotNull ParsedCrate parseCrate(@NotNull final Path file, @NotNull final RustParser parser,
+                                            @NotNull final SyntaxErrorCounter parserErrorCounter) {
+        return switch (this.configuration.parseMode()) {
+            case LL -> {
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                yield new ParsedCrate(parser.crate(), EnumAnalysisMode.LL);
+            }
+            case SLL -> {
+                parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+                yield new ParsedCrate(parser.crate(), EnumAnalysisMode.SLL);
+            }
+            case TWO_STAGE -> {
+                // First stage: SLL prediction, cancel the parse on the first syntax error
+                parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+                parser.setErrorHandler(new BailErrorStrategy());
+                try {
+                    yield new ParsedCrate(parser.crate(), EnumAnalysisMode.SLL);
+                } catch (ParseCancellationException ignored) {
+                    this.logger.debug("SLL parse of '{}' failed, falling back to LL", file);
+                    this.fallbackParseCount.increment();
                 }
 
-                file.functions().clear();
-                file.functions().addAll(newFunctions);
+                // Second stage: Rewind and parse again with full LL prediction and default error recovery. Only the
+                // errors of this stage are counted, the error which cancelled the first stage is reported again.
+                parser.reset();
+                parserErrorCounter.reset();
+                parser.setErrorHandler(new DefaultErrorStrategy());
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                yield new ParsedCrate(parser.crate(), EnumAnalysisMode.LL_FALLBACK);
             }
-        }
+        };
     }
 
-    public void renameStructs() {
-        this.logger.info("Rename structures from pathless struct names to path struct names (Struct Prepare Pass)");
-        for (RustProject project : this.projects) {
-            // Enumerate all files in project
-            for (RustFile file : project.files()) {
-                // Enumerate all structures in project, add path to name, clear structs list and insert new struct list
-                List<RustStruct> newRustStructs = new ArrayList<>();
-                for (RustStruct struct : file.structs()) {
-                    // Generate new structure name with path
-                    String structNameWithPath = String.format("%s::%s", file.path().replace("crate::", ""),
-                            struct.name());
+    public void prepareProjects(@NotNull final TypeMapper typeMapper) {
+        this.logger.info("Qualify struct names and types with their paths (Prepare Pass)");
+        final long startTime = System.nanoTime();
+
+        // Prepare all files of all projects concurrently
+        final Map<Path, RustProject> projects = Map.copyOf(this.projects);
+        final Map<Path, List<ForkJoinTask<RustFile>>> prepareTasks = new HashMap<>();
+        projects.forEach((directory, project) -> prepareTasks.put(directory, project.files().stream()
+                .map(file -> this.analyzerPool.submit(() -> this.prepareFile(typeMapper, project, file)))
+                .toList()));
+
+        // Replace the projects with the prepared snapshots, keeping the order of the files
+        projects.forEach((directory, project) -> {
+            final List<RustFile> preparedFiles = prepareTasks.get(directory).stream().map(ForkJoinTask::join).toList();
+            this.projects.replace(directory, project, new RustProject(project.projectName(), project.libraryName(),
+                    preparedFiles, project.crates()));
+        });
+
+        final int fileCount = projects.values().stream().mapToInt(project -> project.files().size()).sum();
+        this.logger.info("Prepare Pass: Qualified {} source files in {} ms", fileCount,
+                (System.nanoTime() - startTime) / 1_000_000L);
+    }
 
-                    // Inform the user about the change and add structure to list
-                    this.logger.info("Modifying struct name from {} to {}", struct.name(), structNameWithPath);
-                    newRustStructs.add(new RustStruct(struct.attributes(), structNameWithPath, struct.parameters()));
-                }
-                file.structs().clear();
-                file.structs().addAll(newRustStructs);
+    public @NotNull RustTypeTable buildTypeTable(@NotNull final TypeMapper typeMapper) {
+        this.logger.info("Build type table and validate exported types (Validation Pass)");
+        final long startTime = System.nanoTime();
+        final List<RustProject> projects = this.getProjects();
+        final RustTypeTable typeTable = RustTypeTable.build(projects);
+
+        // Validate that every type used by exported items is a default type or an exported struct
+        for (final RustTypeTable.Entry entry : typeTable.entries()) {
+            if (!entry.isExported())
+                continue;
+
+            if (entry.javaClassName() == null) {
+                throw new AnalyzerValidationException("Illegal jni_export attribute on struct '%s' => Missing " +
+                        "class name in definition", entry.struct().name());
             }
+
+            entry.struct().parameters().forEach((name, type) -> this.validateType(typeMapper, typeTable, type,
+                    "field '%s' of struct '%s'", name, entry.struct().name()));
         }
-    }
 
-    public void reformatTypes(@NotNull final TypeMapper typeMapper) {
-        this.logger.info("Reformat types from pathless type declarations to path type declarations (Type Prepare Pass)");
-        for (RustProject project : this.projects) {
-            for (RustFile file : project.files()) {
-                for (RustStruct struct : file.structs()) {
-                    // Send information to user
-                    this.logger.info("Modifying types in struct '{}' ({})", struct.name(), struct.parameters().entrySet()
-                            .stream().map(entry -> String.format("%s: %s", entry.getKey(), entry.getValue()))
-                            .collect(Collectors.joining(", ")));
-
-                    // Enumerate all parameters in struct
-                    for (Map.Entry<String, String> parameter : struct.parameters().entrySet()) {
-                        // Only modify type name when name isn't already specified with path
-                        if (!parameter.getValue().contains("::")) {
-                            // Replace type names with new type names
-                            struct.parameters().put(parameter.getKey(), this.reformatType(typeMapper, parameter.getValue(),
-                                    project.projectName(), file));
-                        }
+        for (final RustProject project : projects) {
+            for (final RustFile file : project.files()) {
+                for (final RustFunction function : file.functions()) {
+                    final RustAttribute exportAttribute = function.attributes().stream()
+                            .filter(attribute -> attribute.name().equals(EXPORT_ATTRIBUTE_NAME))
+                            .findFirst().orElse(null);
+                    if (exportAttribute == null)
+                        continue;
+
+                    if (exportAttribute.parameters().get("class") == null) {
+                        throw new AnalyzerValidationException("Illegal jni_export attribute on function '%s' => " +
+                                "Missing class name in definition", function.functionName());
                     }
 
-                    // Send information to user
-                    this.logger.info("Finished type modification in struct '{}' ({})", struct.name(), struct.parameters().entrySet()
-                            .stream().map(entry -> String.format("%s: %s", entry.getKey(), entry.getValue())));
+                    function.parameters().forEach((name, type) -> {
+                        if (!isJniEnvironmentType(type)) {
+                            this.validateType(typeMapper, typeTable, type, "parameter '%s' of function '%s'",
+                                    name, function.functionName());
+                        }
+                    });
+                    function.returnType().ifPresent(type -> this.validateType(typeMapper, typeTable, type,
+                            "return type of function '%s'", function.functionName()));
                 }
             }
         }
+
+        this.logger.info("Validation Pass: Indexed {} structs in the type table in {} ms", typeTable.size(),
+                (System.nanoTime() - startTime) / 1_000_000L);
+        return typeTable;
+    }
+
+    private void validateType(@NotNull final TypeMapper typeMapper, @NotNull final RustTypeTable typeTable,
+                              @NotNull final String rustType, @NotNull final String usageFormat,
+                              @NotNull final Object... usageArguments) {
+        if (typeMapper.isDefaultTypeRust(rustType) || typeTable.isExported(rustType))
+            return;
+
+        // The description of the usage is only formatted for the error message
+        final String usage = String.format(usageFormat, usageArguments);
+        if (typeTable.lookup(rustType) != null) {
+            throw new AnalyzerValidationException("Unable to use type '%s' as %s => Struct is not exported with " +
+                    "jni_export", rustType, usage);
+        }
+        throw new AnalyzerValidationException("Unable to use type '%s' as %s => Type is unknown", rustType, usage);
+    }
+
+    public static boolean isJniEnvironmentType(@NotNull final String rustType) {
+        return rustType.endsWith("JNIEnv") || rustType.endsWith("JClass");
+    }
+
+    private @NotNull RustFile prepareFile(@NotNull final TypeMapper typeMapper, @NotNull final RustProject project,
+                                          @NotNull final RustFile file) {
+        // Add crate and module path to the names of the structures and qualify the types of their fields
+        final List<RustStruct> preparedStructs = new ArrayList<>(file.structs().size());
+        for (final RustStruct struct : file.structs()) {
+            final ParameterList parameters = struct.parameters().mapTypes(type -> this.reformatType(typeMapper, type,
+                    project.libraryName(), file));
+
+            final RustStruct preparedStruct = new RustStruct(struct.attributes(), this.symbolTable.intern(project
+                    .libraryName() + "::" + this.getModulePrefix(file) + struct.name()), parameters);
+            preparedStructs.add(preparedStruct);
+
+            // The parameter list is only formatted if debug logging is enabled
+            this.logger.debug("Prepared struct '{}' ({})", preparedStruct.name(), preparedStruct.parameters());
+        }
+
+        // Qualify the parameter and return types of the functions
+        final List<RustFunction> preparedFunctions = new ArrayList<>(file.functions().size());
+        for (final RustFunction function : file.functions()) {
+            final ParameterList parameters = function.parameters().mapTypes(type -> this.reformatType(typeMapper,
+                    type, project.libraryName(), file));
+
+            final RustFunction preparedFunction = new RustFunction(function.attributes(), function.functionName(),
+                    parameters, function.returnType().map(type -> this.reformatType(typeMapper, type,
+                    project.libraryName(), file)));
+            preparedFunctions.add(preparedFunction);
+
+            // Guarded, because the three arguments would allocate a varargs array for every function
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("Prepared function '{}' ({}) -> {}", preparedFunction.functionName(),
+                        preparedFunction.parameters(), preparedFunction.returnType().orElse("void"));
+            }
+        }
+        return new RustFile(file.path(), preparedFunctions, preparedStructs, file.imports());
     }
 
     private @NotNull String reformatType(@NotNull final TypeMapper mapper, @NotNull final String rustType,
-                                         @NotNull final String projectName, @NotNull final RustFile file) {
-        // Skip default types
-        if (mapper.isDefaultTypeRust(rustType)) {
+                                         @NotNull final String crateName, @NotNull final RustFile file) {
+        // Skip default types and types which are already specified with path
+        if (mapper.isDefaultTypeRust(rustType) || rustType.contains("::")) {
             return rustType;
         }
 
         // Generate type name with path
-        String type = file.imports().stream()
-                .map(importString -> new AbstractMap.SimpleEntry<>(importString.substring(importString
-                        .lastIndexOf("::") + 2), importString))
-                .filter(entry -> entry.getKey().equals(rustType))
-                .map(AbstractMap.SimpleEntry::getValue)
-                .findFirst().orElse(null);
+        String type = file.imports().get(rustType);
+
+        // Imports relative to the crate root are resolved with the crate name, like struct paths in the type mapper
+        if (type != null && type.startsWith("crate::"))
+            type = crateName + type.substring("crate".length());
 
         // If there is no imported path, default to own struct
         if (type == null)
-            type = String.format("%s::%s::%s", projectName.replace("-", "_"), file.path(), rustType);
+            type = String.format("%s::%s%s", crateName, this.getModulePrefix(file), rustType);
 
         // If there is no naming, set type to type decl before
         if (type == null)
             type = rustType;
 
-        return type;
+        return this.symbolTable.intern(type);
+    }
+
+    private @NotNull String getModulePrefix(@NotNull final RustFile file) {
+        // Module path of the file without crate, 'crate::a::b' is converted to 'a::b::' and 'crate' to ''
+        return file.path().equals("crate") ? "" : file.path().substring("crate::".length()) + "::";
+    }
+
+    private @NotNull List<RustStruct> scanStructs(@NotNull final SourceBuffer sourceBuffer, @NotNull final Path file) {
+        // Only the lexer runs, structs inside of function bodies are dropped with the bodies like by the listener
+        final List<Token> tokens = FunctionBodyFilter.filter(this.parserFactory.newLexer(sourceBuffer
+                .toCharStream(file.toString())).getAllTokens());
+        final List<RustStruct> structs = new ArrayList<>();
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            if (tokens.get(i).getType() != RustLexer.KW_STRUCT || !FunctionBodyFilter.isIdentifier(tokens.get(i + 1)
+                    .getType()))
+                continue;
+
+            structs.add(new RustStruct(List.of(), this.symbolTable.intern(tokens.get(i + 1).getText()),
+                    ParameterList.EMPTY));
+        }
+        return structs;
+    }
+
+    private static boolean containsMarker(final byte @NotNull [] content, final int length,
+                                          final byte @NotNull [] marker) {
+        final int lastStart = length - marker.length;
+        outer:
+        for (int i = 0; i <= lastStart; i++) {
+            if (content[i] != marker[0])
+                continue;
+
+            for (int j = 1; j < marker.length; j++) {
+                if (content[i + j] != marker[j])
+                    continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isRustSourceFile(@NotNull final Path path) {
+        // Ignore directories
+        if (!Files.isRegularFile(path))
+            return false;
+
+        // Ignore files without extension
+        final String name = path.getFileName().toString();
+        if (!name.contains("."))
+            return false;
+
+        // Check if file is a rust source file
+        return name.substring(name.lastIndexOf(".") + 1).equals("rs");
     }
 
     private @NotNull String getRustModulePath(@NotNull final Path sourceDirectory, @NotNull final Path child) {
@@ -244,7 +500,25 @@ public final class SourceFileAnalyzer {
                 .replace("/", "::");
     }
 
+    public long getFallbackParseCount() {
+        return this.fallbackParseCount.sum();
+    }
+
+    public @NotNull List<FileMetrics> getFileMetrics() {
+        return this.fileMetrics.stream().sorted(Comparator.comparing(FileMetrics::file)).toList();
+    }
+
     public List<RustProject> getProjects() {
-        return Collections.unmodifiableList(this.projects);
+        // Sorted by project directory, so the order doesn't depend on the completion order of concurrent analyses
+        return this.projects.entrySet().stream().sorted(Map.Entry.comparingByKey()).map(Map.Entry::getValue).toList();
     }
+
+    @Override
+    public void close() {
+        this.analyzerPool.shutdown();
+    }
+
+    private record ParsedCrate(@NotNull RustParser.CrateContext crate, @NotNull EnumAnalysisMode mode) {
+    }
+
 }
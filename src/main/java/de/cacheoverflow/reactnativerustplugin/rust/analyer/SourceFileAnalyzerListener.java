@@ -3,10 +3,14 @@ package de.cacheoverflow.reactnativerustplugin.rust.analyer;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustAttribute;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFunction;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
 import de.cacheoverflow.reactnativerustplugin.rust.parser.RustParser;
 import de.cacheoverflow.reactnativerustplugin.rust.parser.RustParserBaseListener;
 import de.cacheoverflow.reactnativerustplugin.utils.NullableHelper;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
+import org.antlr.v4.runtime.Token;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -15,73 +19,190 @@ public class SourceFileAnalyzerListener extends RustParserBaseListener {
     private final List<RustAttribute> attributeCache = new ArrayList<>();
     private final List<RustFunction> functions;
     private final List<RustStruct> structures;
-    private final List<String> imports;
+    private final Map<String, String> imports;
+    private final SymbolTable symbolTable;
+    private int blockDepth;
 
     public SourceFileAnalyzerListener(@NotNull final List<RustFunction> functions,
-                                      @NotNull final List<RustStruct> structures, @NotNull final List<String> imports) {
+                                      @NotNull final List<RustStruct> structures,
+                                      @NotNull final Map<String, String> imports) {
+        this(functions, structures, imports, new SymbolTable());
+    }
+
+    public SourceFileAnalyzerListener(@NotNull final List<RustFunction> functions,
+                                      @NotNull final List<RustStruct> structures,
+                                      @NotNull final Map<String, String> imports,
+                                      @NotNull final SymbolTable symbolTable) {
         this.functions = functions;
         this.structures = structures;
         this.imports = imports;
+        this.symbolTable = symbolTable;
+    }
+
+    @Override
+    public void enterBlockExpression(RustParser.BlockExpressionContext context) {
+        // Items inside of blocks like 'fn nested() {}' in a function body aren't reachable from other modules. They
+        // are ignored, so the model doesn't depend on whether the function bodies are skipped before parsing.
+        this.blockDepth++;
+    }
+
+    @Override
+    public void exitBlockExpression(RustParser.BlockExpressionContext context) {
+        this.blockDepth--;
     }
 
     @Override
     public void enterUseDeclaration(RustParser.UseDeclarationContext context) {
-        this.imports.add(context.useTree().getText());
+        if (this.blockDepth > 0)
+            return;
+
+        this.addImports(null, context.useTree());
     }
 
     @Override
     public void enterFunction_(RustParser.Function_Context context) {
+        if (this.blockDepth > 0)
+            return;
+
         // Get return type
-        Optional<String> returnType = NullableHelper.successOrElse(() -> context.functionReturnType().type_()
-                .getText(), NullPointerException.class, null);
+        Optional<String> returnType = NullableHelper.successOrElse(() -> this.symbolTable.intern(context
+                .functionReturnType().type_().getText()), NullPointerException.class, null);
 
-        // Parse Parameters
-        Map<String, String> parameters = new HashMap<>();
+        // Parse Parameters in declaration order
+        final ParameterList.Builder parameters = new ParameterList.Builder();
         if (context.functionParameters() != null) {
             for (RustParser.FunctionParamContext parameterContext : context.functionParameters().functionParam()) {
-                parameters.put(parameterContext.functionParamPattern().pattern().getText(), parameterContext.functionParamPattern()
-                        .type_().getText());
+                parameters.add(this.symbolTable.intern(parameterContext.functionParamPattern().pattern().getText()),
+                        this.symbolTable.intern(parameterContext.functionParamPattern().type_().getText()));
             }
         }
 
         // Add function to list and clear attribute cache
-        this.functions.add(new RustFunction(new ArrayList<>(this.attributeCache), context.identifier().getText(),
-                parameters, returnType));
+        this.functions.add(new RustFunction(this.attributeCache, context.identifier().getText(),
+                parameters.build(), returnType));
         this.attributeCache.clear();
     }
 
     @Override
     public void enterStruct_(RustParser.Struct_Context context) {
+        if (this.blockDepth > 0)
+            return;
+
         // Parse Parameters
-        Map<String, String> parameters = new HashMap<>();
+        final ParameterList.Builder parameters = new ParameterList.Builder();
         if (context.structStruct().structFields() != null) {
             for (RustParser.StructFieldContext fieldContext : context.structStruct().structFields().structField()) {
-                parameters.put(fieldContext.identifier().getText(), fieldContext.type_().getText());
+                parameters.add(this.symbolTable.intern(fieldContext.identifier().getText()),
+                        this.symbolTable.intern(fieldContext.type_().getText()));
             }
         }
 
         // Add struct to list and clear attribute cache
-        this.structures.add(new RustStruct(new ArrayList<>(this.attributeCache),
-                context.structStruct().identifier().getText(), parameters));
+        this.structures.add(new RustStruct(this.attributeCache,
+                context.structStruct().identifier().getText(), parameters.build()));
         this.attributeCache.clear();
     }
 
     @Override
     public void enterOuterAttribute(RustParser.OuterAttributeContext context) {
-        Map<String, String> parameters = new HashMap<>();
-        if (context.attr().attrInput() != null) {
-            for (RustParser.TokenTreeContext tokenTreeContext : context.attr().attrInput().delimTokenTree().tokenTree()) {
-                if (tokenTreeContext.tokenTreeToken().stream().noneMatch(current -> current.getText().equals("=")))
-                    continue;
+        if (this.blockDepth > 0)
+            return;
+
+        // Only attributes of the plugin are kept, all others like derive or cfg are dropped before their input is read
+        final RustParser.AttrContext attribute = context.attr();
+        if (!SourceFileAnalyzerListener.isExportAttribute(attribute.simplePath()))
+            return;
+
+        final ParameterList.Builder parameters = new ParameterList.Builder();
+        if (attribute.attrInput() != null && attribute.attrInput().delimTokenTree() != null) {
+            this.addAttributeParameters(attribute.attrInput().delimTokenTree(), parameters);
+        }
+        this.attributeCache.add(new RustAttribute(SourceFileAnalyzer.EXPORT_ATTRIBUTE_NAME, parameters.build()));
+    }
+
+    private void addAttributeParameters(@NotNull final RustParser.DelimTokenTreeContext context,
+                                        @NotNull final ParameterList.Builder parameters) {
+        // Match 'key = value' pairs separated by commas by token type, nested groups as value are ignored
+        Token key = null;
+        Token value = null;
+        boolean assignment = false;
+        for (final RustParser.TokenTreeContext tokenTreeContext : context.tokenTree()) {
+            if (tokenTreeContext.delimTokenTree() != null) {
+                key = null;
+                continue;
+            }
+
+            for (final RustParser.TokenTreeTokenContext tokenContext : tokenTreeContext.tokenTreeToken()) {
+                final Token token = tokenContext.getStart();
+                switch (token.getType()) {
+                    case RustLexer.COMMA -> {
+                        this.addAttributeParameter(key, value, parameters);
+                        key = null;
+                        value = null;
+                        assignment = false;
+                    }
+                    case RustLexer.EQ -> assignment = key != null && value == null && !assignment;
+                    default -> {
+                        if (key == null && !assignment) {
+                            key = token;
+                        } else if (assignment && value == null) {
+                            value = token;
+                        } else {
+                            key = null;
+                        }
+                    }
+                }
+            }
+        }
+        this.addAttributeParameter(key, value, parameters);
+    }
+
+    private void addAttributeParameter(@Nullable final Token key, @Nullable final Token value,
+                                       @NotNull final ParameterList.Builder parameters) {
+        if (key == null || value == null)
+            return;
+        parameters.add(this.symbolTable.intern(key.getText()), this.symbolTable.intern(value.getText()));
+    }
+
+    private static boolean isExportAttribute(@NotNull final RustParser.SimplePathContext context) {
+        // Single segment path, the length of the token is compared before its text is materialized
+        if (context.getChildCount() != 1)
+            return false;
+
+        final Token token = context.getStart();
+        return token.getStopIndex() - token.getStartIndex() + 1 == SourceFileAnalyzer.EXPORT_ATTRIBUTE_NAME.length()
+                && SourceFileAnalyzer.EXPORT_ATTRIBUTE_NAME.equals(token.getText());
+    }
 
-                if (tokenTreeContext.tokenTreeToken().size() != 3)
-                    continue;
+    private void addImports(@Nullable final String prefix, @NotNull final RustParser.UseTreeContext context) {
+        // Glob imports can't be indexed by name
+        if (context.STAR() != null)
+            return;
 
-                parameters.put(tokenTreeContext.tokenTreeToken().get(0).getText(),
-                        tokenTreeContext.tokenTreeToken().get(2).getText());
+        // Expand groups like 'a::{b, c::d}' with the path before the group as prefix
+        final String path = context.simplePath() != null ? context.simplePath().getText() : null;
+        if (context.LCURLYBRACE() != null) {
+            final String groupPrefix = path == null ? prefix : prefix == null ? path : prefix + "::" + path;
+            for (final RustParser.UseTreeContext childContext : context.useTree()) {
+                this.addImports(groupPrefix, childContext);
             }
+            return;
         }
-        this.attributeCache.add(new RustAttribute(context.attr().simplePath().getText(), parameters));
+
+        // Imports without name like 'a::B as _' can't be referenced
+        if (path == null || context.UNDERSCORE() != null)
+            return;
+
+        // 'a::{self}' imports the module 'a' itself
+        String fullPath = prefix == null ? path : prefix + "::" + path;
+        if (path.equals("self") && prefix != null) {
+            fullPath = prefix;
+        }
+
+        final int separatorIndex = fullPath.lastIndexOf("::");
+        final String symbol = context.identifier() != null ? context.identifier().getText() : separatorIndex == -1 ?
+                fullPath : fullPath.substring(separatorIndex + 2);
+        this.imports.putIfAbsent(this.symbolTable.intern(symbol), this.symbolTable.intern(fullPath));
     }
 
 }
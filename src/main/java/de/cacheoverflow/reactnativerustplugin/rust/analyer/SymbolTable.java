@@ -0,0 +1,28 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Deduplicates the names of types, attributes and parameters of one analysis. The model keeps one instance of every
+// symbol like 'jni::objects::jint' or 'jni_export' instead of one copy per occurrence. The table is owned by the
+// analyzer, so it is collected together with it and doesn't pollute the JVM string table of the Gradle daemon.
+public final class SymbolTable {
+
+    private final Map<String, String> symbols = new ConcurrentHashMap<>();
+
+    public @NotNull String intern(@NotNull final String symbol) {
+        final String existingSymbol = this.symbols.get(symbol);
+        if (existingSymbol != null)
+            return existingSymbol;
+
+        final String previousSymbol = this.symbols.putIfAbsent(symbol, symbol);
+        return previousSymbol != null ? previousSymbol : symbol;
+    }
+
+    public int size() {
+        return this.symbols.size();
+    }
+
+}
@@ -0,0 +1,141 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.cache;
+
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerException;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.AnalyzerConfiguration;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.SymbolTable;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class AnalysisCache {
+
+    private static final int CACHE_MAGIC = 0x52414E43; // RANC
+    private static final int CACHE_VERSION = 5;
+
+    private final Map<String, Entry> previousEntries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+    private final AnalyzerConfiguration configuration;
+    private final Path cacheFile;
+    private final Logger logger;
+
+    public AnalysisCache(@NotNull final Logger logger, @NotNull final Path cacheFile,
+                         @NotNull final AnalyzerConfiguration configuration) {
+        this.logger = logger;
+        this.cacheFile = cacheFile;
+        this.configuration = configuration;
+    }
+
+    public void load() {
+        if (!Files.isRegularFile(this.cacheFile))
+            return;
+
+        try {
+            final ByteBuffer input = ByteBuffer.wrap(Files.readAllBytes(this.cacheFile));
+            if (input.getInt() != CACHE_MAGIC || input.getInt() != CACHE_VERSION) {
+                this.logger.info("Ignoring analysis cache '{}' with unknown format", this.cacheFile.toAbsolutePath());
+                return;
+            }
+
+            // The extracted model depends on the parse settings, entries of other settings are stale
+            if (!RustModelCodec.readString(input).equals(this.configuration.parseMode().name())
+                    || (input.get() != 0) != this.configuration.skipFunctionBodies()) {
+                this.logger.info("Ignoring analysis cache '{}' of other analyzer settings",
+                        this.cacheFile.toAbsolutePath());
+                return;
+            }
+
+            final int entryCount = input.getInt();
+            for (int i = 0; i < entryCount; i++) {
+                final String key = RustModelCodec.readString(input);
+                final byte[] hash = new byte[input.getInt()];
+                input.get(hash);
+                final byte[] data = new byte[input.getInt()];
+                input.get(data);
+                this.previousEntries.put(key, new Entry(hash, data));
+            }
+            this.logger.info("Loaded {} entries from analysis cache '{}'", entryCount, this.cacheFile.toAbsolutePath());
+        } catch (IOException | BufferUnderflowException ex) {
+            this.previousEntries.clear();
+            this.logger.warn("Unable to read analysis cache '{}', ignoring it", this.cacheFile.toAbsolutePath(), ex);
+        }
+    }
+
+    public void save() {
+        try {
+            Files.createDirectories(this.cacheFile.getParent());
+            final Path temporaryFile = Files.createTempFile(this.cacheFile.getParent(), "analysis-cache", ".tmp");
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files
+                    .newOutputStream(temporaryFile)))) {
+                output.writeInt(CACHE_MAGIC);
+                output.writeInt(CACHE_VERSION);
+                RustModelCodec.writeString(output, this.configuration.parseMode().name());
+                output.writeBoolean(this.configuration.skipFunctionBodies());
+
+                // Only entries used in this run are persisted, so deleted source files drop out of the cache
+                output.writeInt(this.currentEntries.size());
+                for (final Map.Entry<String, Entry> entry : this.currentEntries.entrySet()) {
+                    RustModelCodec.writeString(output, entry.getKey());
+                    output.writeInt(entry.getValue().hash().length);
+                    output.write(entry.getValue().hash());
+                    output.writeInt(entry.getValue().data().length);
+                    output.write(entry.getValue().data());
+                }
+            }
+            Files.move(temporaryFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new AnalyzerException(ex);
+        }
+    }
+
+    public @Nullable RustFile lookup(@NotNull final Path file, final byte @NotNull [] hash,
+                                     @NotNull final SymbolTable symbolTable) {
+        final String key = file.toAbsolutePath().toString();
+        final Entry entry = this.previousEntries.get(key);
+        if (entry == null || !Arrays.equals(entry.hash(), hash))
+            return null;
+
+        this.currentEntries.put(key, entry);
+        return RustModelCodec.readFile(ByteBuffer.wrap(entry.data()), symbolTable);
+    }
+
+    public void store(@NotNull final Path file, final byte @NotNull [] hash, @NotNull final RustFile rustFile) {
+        // The file is serialized directly, because the prepare passes modify the analyzed files afterwards
+        final ByteArrayOutputStream dataStream = new ByteArrayOutputStream();
+        try (final DataOutputStream output = new DataOutputStream(dataStream)) {
+            RustModelCodec.writeFile(output, rustFile);
+        } catch (IOException ex) {
+            throw new AnalyzerException(ex);
+        }
+        this.currentEntries.put(file.toAbsolutePath().toString(), new Entry(hash, dataStream.toByteArray()));
+    }
+
+    public static byte @NotNull [] hash(final byte @NotNull [] content, final int length) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new AnalyzerException(ex);
+        }
+    }
+
+    private record Entry(byte @NotNull [] hash, byte @NotNull [] data) {
+    }
+
+}
@@ -0,0 +1,75 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.cache;
+
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerException;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.SymbolTable;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustProject;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Binary snapshot of the prepared projects of an analysis. It is written by the code generation task as output, so
+// other tasks can consume the analyzed model without parsing the Rust sources again.
+public class AnalysisSnapshot {
+
+    private static final int SNAPSHOT_MAGIC = 0x52414E53; // RANS
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private AnalysisSnapshot() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void write(@NotNull final Path snapshotFile, @NotNull final Collection<RustProject> projects) {
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            final Path temporaryFile = Files.createTempFile(snapshotFile.getParent(), "analysis", ".tmp");
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files
+                    .newOutputStream(temporaryFile)))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeInt(projects.size());
+                for (final RustProject project : projects) {
+                    RustModelCodec.writeProject(output, project);
+                }
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new AnalyzerException(ex);
+        }
+    }
+
+    public static @NotNull List<RustProject> read(@NotNull final Path snapshotFile) {
+        // The snapshot is read into the heap instead of being mapped. A mapped file which is rewritten by another
+        // build fails with an InternalError on access instead of an IOException.
+        try {
+            final ByteBuffer input = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            if (input.getInt() != SNAPSHOT_MAGIC || input.getInt() != SNAPSHOT_VERSION) {
+                throw new AnalyzerException("Unable to read analysis snapshot '%s' => Unknown format",
+                        snapshotFile.toAbsolutePath());
+            }
+
+            final SymbolTable symbolTable = new SymbolTable();
+            final int projectCount = input.getInt();
+            final List<RustProject> projects = new ArrayList<>(projectCount);
+            for (int i = 0; i < projectCount; i++) {
+                projects.add(RustModelCodec.readProject(input, symbolTable));
+            }
+            return projects;
+        } catch (IOException ex) {
+            throw new AnalyzerException(ex);
+        } catch (BufferUnderflowException ex) {
+            throw new AnalyzerException("Unable to read analysis snapshot '%s' => File is truncated",
+                    snapshotFile.toAbsolutePath());
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.cache;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.SymbolTable;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustAttribute;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFunction;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustProject;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class RustModelCodec {
+
+    private RustModelCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void writeProject(@NotNull final DataOutputStream output,
+                                    @NotNull final RustProject project) throws IOException {
+        RustModelCodec.writeString(output, project.projectName());
+        RustModelCodec.writeString(output, project.libraryName());
+        output.writeInt(project.crates().size());
+        for (final String crate : project.crates()) {
+            RustModelCodec.writeString(output, crate);
+        }
+
+        output.writeInt(project.files().size());
+        for (final RustFile file : project.files()) {
+            RustModelCodec.writeFile(output, file);
+        }
+    }
+
+    public static @NotNull RustProject readProject(@NotNull final ByteBuffer input,
+                                                   @NotNull final SymbolTable symbolTable) {
+        final String projectName = RustModelCodec.readString(input);
+        final String libraryName = RustModelCodec.readString(input);
+        final int crateCount = input.getInt();
+        final List<String> crates = new ArrayList<>(crateCount);
+        for (int i = 0; i < crateCount; i++) {
+            crates.add(RustModelCodec.readString(input));
+        }
+
+        final int fileCount = input.getInt();
+        final List<RustFile> files = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            files.add(RustModelCodec.readFile(input, symbolTable));
+        }
+        return new RustProject(projectName, libraryName, files, crates);
+    }
+
+    public static void writeFile(@NotNull final DataOutputStream output, @NotNull final RustFile file) throws IOException {
+        RustModelCodec.writeString(output, file.path());
+
+        output.writeInt(file.functions().size());
+        for (final RustFunction function : file.functions()) {
+            RustModelCodec.writeAttributes(output, function.attributes());
+            RustModelCodec.writeString(output, function.functionName());
+            RustModelCodec.writeParameters(output, function.parameters());
+            output.writeBoolean(function.returnType().isPresent());
+            if (function.returnType().isPresent()) {
+                RustModelCodec.writeString(output, function.returnType().get());
+            }
+        }
+
+        output.writeInt(file.structs().size());
+        for (final RustStruct struct : file.structs()) {
+            RustModelCodec.writeAttributes(output, struct.attributes());
+            RustModelCodec.writeString(output, struct.name());
+            RustModelCodec.writeParameters(output, struct.parameters());
+        }
+
+        RustModelCodec.writeStringMap(output, file.imports());
+    }
+
+    public static @NotNull RustFile readFile(@NotNull final ByteBuffer input, @NotNull final SymbolTable symbolTable) {
+        final String path = RustModelCodec.readString(input);
+
+        final int functionCount = input.getInt();
+        final List<RustFunction> functions = new ArrayList<>(functionCount);
+        for (int i = 0; i < functionCount; i++) {
+            final List<RustAttribute> attributes = RustModelCodec.readAttributes(input, symbolTable);
+            final String name = RustModelCodec.readString(input);
+            final ParameterList parameters = RustModelCodec.readParameters(input, symbolTable);
+            final Optional<String> returnType = input.get() != 0 ? Optional.of(symbolTable.intern(RustModelCodec
+                    .readString(input))) : Optional.empty();
+            functions.add(new RustFunction(attributes, name, parameters, returnType));
+        }
+
+        final int structCount = input.getInt();
+        final List<RustStruct> structs = new ArrayList<>(structCount);
+        for (int i = 0; i < structCount; i++) {
+            final List<RustAttribute> attributes = RustModelCodec.readAttributes(input, symbolTable);
+            final String name = RustModelCodec.readString(input);
+            structs.add(new RustStruct(attributes, name, RustModelCodec.readParameters(input, symbolTable)));
+        }
+
+        return new RustFile(path, functions, structs, RustModelCodec.readStringMap(input, symbolTable));
+    }
+
+    private static void writeAttributes(@NotNull final DataOutputStream output,
+                                        @NotNull final List<RustAttribute> attributes) throws IOException {
+        output.writeInt(attributes.size());
+        for (final RustAttribute attribute : attributes) {
+            RustModelCodec.writeString(output, attribute.name());
+            RustModelCodec.writeParameters(output, attribute.parameters());
+        }
+    }
+
+    private static @NotNull List<RustAttribute> readAttributes(@NotNull final ByteBuffer input,
+                                                               @NotNull final SymbolTable symbolTable) {
+        final int attributeCount = input.getInt();
+        final List<RustAttribute> attributes = new ArrayList<>(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            final String name = symbolTable.intern(RustModelCodec.readString(input));
+            attributes.add(new RustAttribute(name, RustModelCodec.readParameters(input, symbolTable)));
+        }
+        return attributes;
+    }
+
+    // Parameters are written like a string map, so the format of the cache entries didn't change with the model
+    private static void writeParameters(@NotNull final DataOutputStream output,
+                                        @NotNull final ParameterList parameters) throws IOException {
+        output.writeInt(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            RustModelCodec.writeString(output, parameters.name(i));
+            RustModelCodec.writeString(output, parameters.type(i));
+        }
+    }
+
+    private static @NotNull ParameterList readParameters(@NotNull final ByteBuffer input,
+                                                         @NotNull final SymbolTable symbolTable) {
+        final int parameterCount = input.getInt();
+        final ParameterList.Builder parameters = new ParameterList.Builder(parameterCount);
+        for (int i = 0; i < parameterCount; i++) {
+            final String name = symbolTable.intern(RustModelCodec.readString(input));
+            parameters.add(name, symbolTable.intern(RustModelCodec.readString(input)));
+        }
+        return parameters.build();
+    }
+
+    private static void writeStringMap(@NotNull final DataOutputStream output,
+                                       @NotNull final Map<String, String> map) throws IOException {
+        output.writeInt(map.size());
+        for (final Map.Entry<String, String> entry : map.entrySet()) {
+            RustModelCodec.writeString(output, entry.getKey());
+            RustModelCodec.writeString(output, entry.getValue());
+        }
+    }
+
+    private static @NotNull Map<String, String> readStringMap(@NotNull final ByteBuffer input,
+                                                              @NotNull final SymbolTable symbolTable) {
+        final int entryCount = input.getInt();
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            final String key = symbolTable.intern(RustModelCodec.readString(input));
+            map.put(key, symbolTable.intern(RustModelCodec.readString(input)));
+        }
+        return map;
+    }
+
+    static void writeString(@NotNull final DataOutputStream output, @NotNull final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    static @NotNull String readString(@NotNull final ByteBuffer input) {
+        final byte[] bytes = new byte[input.getInt()];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
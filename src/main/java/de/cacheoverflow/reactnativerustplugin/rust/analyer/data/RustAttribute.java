@@ -1,7 +1,7 @@
 package de.cacheoverflow.reactnativerustplugin.rust.analyer.data;
 
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Map;
-
-public record RustAttribute(@NotNull String name, @NotNull Map<String, String> parameters) { }
+public record RustAttribute(@NotNull String name, @NotNull ParameterList parameters) {
+}
@@ -2,7 +2,19 @@ package de.cacheoverflow.reactnativerustplugin.rust.analyer.data;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+// The imports map the imported name (or alias) to the full path, 'use a::{b, c as d}' results in b => a::b, d => a::c
 public record RustFile(@NotNull String path, @NotNull List<RustFunction> functions, @NotNull List<RustStruct> structs,
-                       @NotNull List<String> imports) {}
+                       @NotNull Map<String, String> imports) {
+
+    public RustFile {
+        functions = List.copyOf(functions);
+        structs = List.copyOf(structs);
+        imports = Collections.unmodifiableMap(new LinkedHashMap<>(imports));
+    }
+
+}
@@ -1,10 +1,16 @@
 package de.cacheoverflow.reactnativerustplugin.rust.analyer.data;
 
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public record RustFunction(@NotNull List<RustAttribute> attributes, @NotNull String functionName,
-                           @NotNull Map<String, String> parameters, @NotNull Optional<String> returnType) { }
+                           @NotNull ParameterList parameters, @NotNull Optional<String> returnType) {
+
+    public RustFunction {
+        attributes = List.copyOf(attributes);
+    }
+
+}
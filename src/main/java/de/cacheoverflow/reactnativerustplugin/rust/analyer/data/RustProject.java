@@ -4,5 +4,13 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
-public record RustProject(@NotNull String projectName, @NotNull List<RustFile> files, @NotNull List<String> crates) {
+// The library name is the crate name used in Rust paths and the name of the native library to load
+public record RustProject(@NotNull String projectName, @NotNull String libraryName, @NotNull List<RustFile> files,
+                          @NotNull List<String> crates) {
+
+    public RustProject {
+        files = List.copyOf(files);
+        crates = List.copyOf(crates);
+    }
+
 }
@@ -1,10 +1,15 @@
 package de.cacheoverflow.reactnativerustplugin.rust.analyer.data;
 
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Map;
 
 public record RustStruct(@NotNull List<RustAttribute> attributes, @NotNull String name,
-                         @NotNull Map<String, String> parameters) {
+                         @NotNull ParameterList parameters) {
+
+    public RustStruct {
+        attributes = List.copyOf(attributes);
+    }
+
 }
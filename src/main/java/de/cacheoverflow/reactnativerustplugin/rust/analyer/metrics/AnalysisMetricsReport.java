@@ -0,0 +1,87 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics;
+
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+public class AnalysisMetricsReport {
+
+    public static final String JSON_FILE_NAME = "analysis-metrics.json";
+    public static final String CSV_FILE_NAME = "analysis-metrics.csv";
+
+    private AnalysisMetricsReport() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void write(@NotNull final Path reportDirectory, @NotNull final List<FileMetrics> metrics) {
+        // The slowest files are written first, they are the interesting ones
+        final List<FileMetrics> sortedMetrics = metrics.stream()
+                .sorted(Comparator.comparingLong(FileMetrics::totalTime).reversed()).toList();
+        try {
+            Files.createDirectories(reportDirectory);
+            AnalysisMetricsReport.writeJson(reportDirectory.resolve(JSON_FILE_NAME), sortedMetrics);
+            AnalysisMetricsReport.writeCsv(reportDirectory.resolve(CSV_FILE_NAME), sortedMetrics);
+        } catch (IOException ex) {
+            throw new AnalyzerException(ex);
+        }
+    }
+
+    private static void writeJson(@NotNull final Path reportFile, @NotNull final List<FileMetrics> metrics)
+            throws IOException {
+        try (final BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int i = 0; i < metrics.size(); i++) {
+                final FileMetrics fileMetrics = metrics.get(i);
+                writer.write("  {\"file\": \"");
+                AnalysisMetricsReport.writeJsonString(writer, fileMetrics.file().toString());
+                writer.write("\", \"mode\": \"" + fileMetrics.mode() + "\", \"fileSize\": " + fileMetrics.fileSize() +
+                        ", \"lexTimeNanos\": " + fileMetrics.lexTime() + ", \"parseTimeNanos\": " +
+                        fileMetrics.parseTime() + ", \"extractTimeNanos\": " + fileMetrics.extractTime() +
+                        ", \"tokenCount\": " + fileMetrics.tokenCount() + ", \"syntaxErrorCount\": " +
+                        fileMetrics.syntaxErrorCount() + "}");
+                writer.write(i + 1 < metrics.size() ? ",\n" : "\n");
+            }
+            writer.write("]\n");
+        }
+    }
+
+    private static void writeJsonString(@NotNull final BufferedWriter writer, @NotNull final String string)
+            throws IOException {
+        for (int i = 0; i < string.length(); i++) {
+            final char character = string.charAt(i);
+            switch (character) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                default -> {
+                    if (character < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) character));
+                    } else {
+                        writer.write(character);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeCsv(@NotNull final Path reportFile, @NotNull final List<FileMetrics> metrics)
+            throws IOException {
+        try (final BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            writer.write("file,mode,file_size,lex_time_nanos,parse_time_nanos,extract_time_nanos,token_count," +
+                    "syntax_error_count\n");
+            for (final FileMetrics fileMetrics : metrics) {
+                writer.write("\"" + fileMetrics.file().toString().replace("\"", "\"\"") + "\"," + fileMetrics.mode() +
+                        "," + fileMetrics.fileSize() + "," + fileMetrics.lexTime() + "," + fileMetrics.parseTime() +
+                        "," + fileMetrics.extractTime() + "," + fileMetrics.tokenCount() + "," +
+                        fileMetrics.syntaxErrorCount() + "\n");
+            }
+        }
+    }
+
+}
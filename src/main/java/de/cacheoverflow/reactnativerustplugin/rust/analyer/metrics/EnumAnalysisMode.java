@@ -0,0 +1,16 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics;
+
+public enum EnumAnalysisMode {
+
+    // Result of the previous run was reused from the analysis cache
+    CACHED,
+    // File without export marker, it wasn't parsed
+    SKIPPED,
+    // Parsed with SLL prediction
+    SLL,
+    // Parsed with full LL prediction
+    LL,
+    // SLL parse failed and the file was parsed again with full LL prediction
+    LL_FALLBACK
+
+}
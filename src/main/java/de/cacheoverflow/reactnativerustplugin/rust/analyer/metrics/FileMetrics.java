@@ -0,0 +1,15 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+// Timings are in nanoseconds, they are zero for files which weren't lexed or parsed
+public record FileMetrics(@NotNull Path file, @NotNull EnumAnalysisMode mode, long fileSize, long lexTime,
+                          long parseTime, long extractTime, int tokenCount, int syntaxErrorCount) {
+
+    public long totalTime() {
+        return this.lexTime + this.parseTime + this.extractTime;
+    }
+
+}
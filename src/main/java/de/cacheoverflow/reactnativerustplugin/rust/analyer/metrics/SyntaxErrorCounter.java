@@ -0,0 +1,26 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+
+// Counts the syntax errors of a lexer and parser instead of printing them to the console
+public class SyntaxErrorCounter extends BaseErrorListener {
+
+    private int syntaxErrorCount;
+
+    @Override
+    public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine,
+                            String message, RecognitionException exception) {
+        this.syntaxErrorCount++;
+    }
+
+    public void reset() {
+        this.syntaxErrorCount = 0;
+    }
+
+    public int getSyntaxErrorCount() {
+        return this.syntaxErrorCount;
+    }
+
+}
@@ -0,0 +1,42 @@
+package de.cacheoverflow.reactnativerustplugin.rust.manifest;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// Parsed Cargo.toml, a manifest without package is a virtual workspace manifest
+public record CargoManifest(@NotNull Path directory, @Nullable String packageName, @Nullable String libraryName,
+                            @NotNull List<String> crateTypes, @NotNull List<String> dependencies,
+                            @NotNull List<Path> workspaceMembers) {
+
+    public CargoManifest {
+        crateTypes = List.copyOf(crateTypes);
+        dependencies = List.copyOf(dependencies);
+        workspaceMembers = List.copyOf(workspaceMembers);
+    }
+
+    public boolean isPackage() {
+        return this.packageName != null;
+    }
+
+    public boolean isWorkspace() {
+        return !this.workspaceMembers.isEmpty();
+    }
+
+    public boolean isNativeLibrary() {
+        // Only a cdylib is built as shared library, which can be bundled and loaded with System.loadLibrary
+        return this.crateTypes.contains("cdylib");
+    }
+
+    public @NotNull String getCrateName() {
+        // Cargo names the library like the package with underscores, unless '[lib] name' is specified
+        if (this.libraryName != null)
+            return this.libraryName;
+        if (this.packageName == null)
+            throw new IllegalStateException(String.format("Manifest in '%s' has no package", this.directory));
+        return this.packageName.replace("-", "_");
+    }
+
+}
@@ -0,0 +1,135 @@
+package de.cacheoverflow.reactnativerustplugin.rust.manifest;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.file.FileConfig;
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerException;
+import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerProjectException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public final class CargoManifestLoader {
+
+    public static final String MANIFEST_FILE_NAME = "Cargo.toml";
+
+    private final Map<Path, CachedManifest> manifests = new ConcurrentHashMap<>();
+
+    public @NotNull CargoManifest load(@NotNull final Path directory) throws AnalyzerProjectException {
+        final Path manifestDirectory = directory.toAbsolutePath().normalize();
+        final Path manifestFile = manifestDirectory.resolve(MANIFEST_FILE_NAME);
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(manifestFile, BasicFileAttributes.class);
+        } catch (IOException ex) {
+            throw new AnalyzerProjectException("Directory '%s' isn't a Cargo Project (Cargo.toml is missing)", directory);
+        }
+        if (!attributes.isRegularFile())
+            throw new AnalyzerProjectException("Directory '%s' isn't a Cargo Project (Cargo.toml is missing)", directory);
+
+        // Reuse the parsed manifest as long as the file wasn't modified
+        final CachedManifest cachedManifest = this.manifests.get(manifestDirectory);
+        if (cachedManifest != null && cachedManifest.isUpToDate(attributes))
+            return cachedManifest.manifest();
+
+        final CargoManifest manifest = CargoManifestLoader.parse(manifestDirectory, manifestFile);
+        this.manifests.put(manifestDirectory, new CachedManifest(attributes.lastModifiedTime(), attributes.size(),
+                manifest));
+        return manifest;
+    }
+
+    public @NotNull List<CargoManifest> loadPackages(@NotNull final Path directory) throws AnalyzerProjectException {
+        // A workspace root may be a package itself, the members are always packages
+        final CargoManifest manifest = this.load(directory);
+        final List<CargoManifest> packages = new ArrayList<>();
+        if (manifest.isPackage()) {
+            packages.add(manifest);
+        }
+
+        for (final Path member : manifest.workspaceMembers()) {
+            final CargoManifest memberManifest = this.load(member);
+            if (!memberManifest.isPackage())
+                throw new AnalyzerProjectException("Workspace member '%s' of '%s' has no package", member, directory);
+            packages.add(memberManifest);
+        }
+
+        if (packages.isEmpty())
+            throw new AnalyzerProjectException("Directory '%s' contains neither a package nor workspace members", directory);
+        return packages;
+    }
+
+    public @NotNull List<CargoManifest> loadNativeLibraries(@NotNull final Path directory)
+            throws AnalyzerProjectException {
+        // A configured package is always a native library, workspaces may also contain other packages like helper
+        // libraries or binaries
+        final CargoManifest manifest = this.load(directory);
+        if (!manifest.isWorkspace())
+            return this.loadPackages(directory);
+        return this.loadPackages(directory).stream().filter(CargoManifest::isNativeLibrary).toList();
+    }
+
+    private static @NotNull CargoManifest parse(@NotNull final Path directory, @NotNull final Path manifestFile) {
+        try (final FileConfig fileConfig = FileConfig.of(manifestFile)) {
+            fileConfig.load();
+
+            final String packageName = fileConfig.get("package.name");
+            final String libraryName = fileConfig.get("lib.name");
+            final List<String> crateTypes = fileConfig.<List<String>>getOptional("lib.crate-type").orElse(List.of());
+            final List<String> dependencies = fileConfig.<Config>getOptional("dependencies")
+                    .map(config -> config.entrySet().stream().map(UnmodifiableConfig.Entry::getKey).toList())
+                    .orElse(List.of());
+            final List<Path> workspaceMembers = CargoManifestLoader.resolveMembers(directory,
+                    fileConfig.<List<String>>getOptional("workspace.members").orElse(List.of()),
+                    fileConfig.<List<String>>getOptional("workspace.exclude").orElse(List.of()));
+            return new CargoManifest(directory, packageName, libraryName, crateTypes, dependencies,
+                    workspaceMembers);
+        }
+    }
+
+    private static @NotNull List<Path> resolveMembers(@NotNull final Path directory, @NotNull final List<String> members,
+                                                      @NotNull final List<String> excludedMembers) {
+        final List<Path> excludedPaths = excludedMembers.stream().map(member -> directory.resolve(member).normalize())
+                .toList();
+
+        // Members are relative to the workspace root, globs are only supported as last path segment like 'crates/*'
+        final List<Path> memberPaths = new ArrayList<>();
+        for (final String member : members) {
+            if (!member.endsWith("/*")) {
+                memberPaths.add(directory.resolve(member).normalize());
+                continue;
+            }
+
+            final Path memberParent = directory.resolve(member.substring(0, member.length() - 2)).normalize();
+            if (!Files.isDirectory(memberParent))
+                continue;
+
+            try (final Stream<Path> memberStream = Files.list(memberParent)) {
+                memberStream.filter(path -> Files.isRegularFile(path.resolve(MANIFEST_FILE_NAME))).sorted()
+                        .forEach(memberPaths::add);
+            } catch (IOException ex) {
+                throw new AnalyzerException(ex);
+            }
+        }
+
+        memberPaths.removeIf(path -> path.equals(directory) || excludedPaths.contains(path));
+        return memberPaths;
+    }
+
+    private record CachedManifest(@NotNull FileTime modifiedTime, long size, @NotNull CargoManifest manifest) {
+
+        boolean isUpToDate(@NotNull final BasicFileAttributes attributes) {
+            return this.size == attributes.size() && this.modifiedTime.equals(attributes.lastModifiedTime());
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package de.cacheoverflow.reactnativerustplugin.service;
+
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifestLoader;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.NotNull;
+
+// Shares the parsed Cargo manifests between the tasks of a build, so every Cargo.toml is only parsed once
+public abstract class CargoManifestService implements BuildService<BuildServiceParameters.None> {
+
+    public static final String SERVICE_NAME = "cargoManifestService";
+
+    private final CargoManifestLoader manifestLoader = new CargoManifestLoader();
+
+    public @NotNull CargoManifestLoader getManifestLoader() {
+        return this.manifestLoader;
+    }
+
+}
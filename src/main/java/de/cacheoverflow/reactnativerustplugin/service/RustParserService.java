@@ -0,0 +1,99 @@
+package de.cacheoverflow.reactnativerustplugin.service;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.RustParserFactory;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public abstract class RustParserService implements BuildService<BuildServiceParameters.None> {
+
+    public static final String SERVICE_NAME = "rustParserService";
+
+    // The DFA caches of the lexer and parser are static, so they live as long as the plugin's class loader, which
+    // the Gradle daemon reuses across builds. The warm up is only needed once per class loader.
+    private static final AtomicBoolean WARMED_UP = new AtomicBoolean();
+
+    private static final String WARM_UP_SOURCE = """
+            use std::collections::HashMap;
+            use jni::objects::{JClass, JString};
+            use jni::sys::{jint, jlong as long_alias};
+            use crate::module::*;
+
+            #[derive(Debug, Clone)]
+            #[jni_export(class = "com.example.Example")]
+            pub struct Example<'a, T: Clone> where T: Default {
+                pub name: String,
+                values: Vec<Option<T>>,
+                reference: &'a [u8; 4],
+            }
+
+            pub struct Tuple(pub i32, u8);
+
+            pub enum Kind { First, Second(i32), Third { value: u8 } }
+
+            impl<'a, T: Clone + Default> Example<'a, T> {
+                pub fn new(name: String) -> Self {
+                    let mut values = Vec::with_capacity(4);
+                    for i in 0..4 {
+                        values.push(if i % 2 == 0 { Some(T::default()) } else { None });
+                    }
+                    Self { name, values, reference: &[1, 2, 3, 4] }
+                }
+            }
+
+            #[no_mangle]
+            #[jni_export(class = "com.example.ExampleModule")]
+            pub extern "C" fn Java_com_example_ExampleModule_compute(env: JNIEnv, class: JClass, value: jint) -> jint {
+                let closure = |x: i32| -> i32 { x * 2 + 1 };
+                let result = match value {
+                    0 => 1,
+                    x if x < 0 => -x,
+                    _ => closure(value) as i32,
+                };
+                let _text = format!("{} {:?}", result, Kind::First);
+                result.checked_add(1).unwrap_or_default()
+            }
+
+            pub trait Visitor { fn visit(&self, value: &str) -> bool; }
+
+            mod module {
+                pub const VALUE: u32 = 42;
+                pub static mut COUNTER: u64 = 0;
+                pub type Alias = Option<Box<dyn Fn(i32) -> i32 + Send>>;
+            }
+            """;
+
+    // The analyzer creates its lexers and parsers through this factory, so they share the DFA caches warmed up here
+    private final RustParserFactory parserFactory = new RustParserFactory();
+
+    public void warmUp(@NotNull final Logger logger) {
+        if (!WARMED_UP.compareAndSet(false, true)) {
+            logger.info("Rust parser is already warm with {} cached DFA states", this.getCachedStateCount());
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        final RustParser parser = this.parserFactory.newParser(new CommonTokenStream(this.parserFactory
+                .newLexer(CharStreams.fromString(WARM_UP_SOURCE))));
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.crate();
+        logger.info("Warmed up Rust parser with {} cached DFA states in {} ms", this.getCachedStateCount(),
+                (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    public @NotNull RustParserFactory getParserFactory() {
+        return this.parserFactory;
+    }
+
+    public int getCachedStateCount() {
+        return this.parserFactory.getCachedStateCount();
+    }
+
+}
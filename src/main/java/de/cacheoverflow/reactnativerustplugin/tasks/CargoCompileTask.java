@@ -1,6 +1,9 @@
 package de.cacheoverflow.reactnativerustplugin.tasks;
 
 import de.cacheoverflow.reactnativerustplugin.exception.CargoCompileException;
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifest;
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifestLoader;
+import de.cacheoverflow.reactnativerustplugin.service.CargoManifestService;
 import de.cacheoverflow.reactnativerustplugin.utils.EnumAndroidTarget;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.Project;
@@ -11,6 +14,7 @@ import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 import org.jetbrains.annotations.NotNull;
 
@@ -32,6 +36,7 @@ public class CargoCompileTask extends DefaultTask {
     private final Property<Byte> androidApiVersion;
     private final RegularFileProperty cargoFile;
     private final DirectoryProperty ndkFolder;
+    private final Property<CargoManifestService> manifestService;
 
     @Inject
     public CargoCompileTask(@NotNull final Project project) {
@@ -40,6 +45,7 @@ public class CargoCompileTask extends DefaultTask {
         this.cargoFile = objectFactory.fileProperty();
         this.ndkFolder = objectFactory.directoryProperty();
         this.androidApiVersion = objectFactory.property(Byte.class);
+        this.manifestService = objectFactory.property(CargoManifestService.class);
     }
 
     @TaskAction
@@ -52,10 +58,13 @@ public class CargoCompileTask extends DefaultTask {
 
         // Build all projects
         this.getLogger().info("Building all imported Rust modules (Build Pass)");
+        final CargoManifestLoader manifestLoader = this.manifestService.get().getManifestLoader();
         for (final Path moduleFolder : this.moduleFolders) {
+            // Cargo builds all members of a workspace at once, the packages are only resolved for the log
+            final String packageNames = manifestLoader.loadPackages(moduleFolder).stream()
+                    .map(CargoManifest::packageName).collect(Collectors.joining(", "));
             for (final EnumAndroidTarget androidTarget : EnumAndroidTarget.values()) {
-                this.getLogger().info("Building '{}' for '{}'", moduleFolder.getFileName().toString(),
-                        androidTarget.getTargetTriple());
+                this.getLogger().info("Building '{}' for '{}'", packageNames, androidTarget.getTargetTriple());
 
                 // Generate command string
                 final String commandBuilder = this.cargoFile.get().getAsFile().getAbsolutePath() + " build --target " +
@@ -110,4 +119,9 @@ public class CargoCompileTask extends DefaultTask {
         return this.moduleFolders;
     }
 
+    @Internal
+    public @NotNull Property<CargoManifestService> getManifestService() {
+        return this.manifestService;
+    }
+
 }
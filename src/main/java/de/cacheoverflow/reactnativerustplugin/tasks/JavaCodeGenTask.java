@@ -1,20 +1,35 @@
 package de.cacheoverflow.reactnativerustplugin.tasks;
 
 import de.cacheoverflow.reactnativerustplugin.codegen.ClassBuilder;
+import de.cacheoverflow.reactnativerustplugin.codegen.GeneratedSourceWriter;
 import de.cacheoverflow.reactnativerustplugin.codegen.MethodBuilder;
 import de.cacheoverflow.reactnativerustplugin.codegen.TypeMapper;
 import de.cacheoverflow.reactnativerustplugin.codegen.expressions.*;
-import de.cacheoverflow.reactnativerustplugin.exception.AnalyzerException;
 import de.cacheoverflow.reactnativerustplugin.exception.CodeGenerationException;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.AnalyzerConfiguration;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.EnumParseMode;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.RustTypeTable;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.SourceFileAnalyzer;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.cache.AnalysisCache;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.cache.AnalysisSnapshot;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.metrics.AnalysisMetricsReport;
 import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.*;
-import de.cacheoverflow.reactnativerustplugin.utils.MapHelper;
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifest;
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifestLoader;
+import de.cacheoverflow.reactnativerustplugin.service.CargoManifestService;
+import de.cacheoverflow.reactnativerustplugin.service.RustParserService;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
 import de.cacheoverflow.reactnativerustplugin.utils.PathHelper;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.jetbrains.annotations.NotNull;
 
@@ -22,299 +37,310 @@ import javax.inject.Inject;
 import java.lang.reflect.Modifier;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class JavaCodeGenTask extends DefaultTask {
 
-    public static final String JNI_EXPORT_ATTR_NAME = "jni_export";
+    public static final String JNI_EXPORT_ATTR_NAME = SourceFileAnalyzer.EXPORT_ATTRIBUTE_NAME;
 
     private final List<Path> moduleFolders = new ArrayList<>();
     private final Property<String> basePackage;
+    private final Property<Integer> analyzerParallelism;
+    private final Property<EnumParseMode> analyzerParseMode;
+    private final Property<Boolean> analyzerSkipFunctionBodies;
+    private final Property<RustParserService> parserService;
+    private final Property<CargoManifestService> manifestService;
+    private final RegularFileProperty analysisCache;
+    private final RegularFileProperty analysisSnapshot;
+    private final DirectoryProperty reportDirectory;
 
     @Inject
     public JavaCodeGenTask(@NotNull final Project project) {
         final ObjectFactory objectFactory = project.getObjects();
         this.basePackage = objectFactory.property(String.class);
+        this.analyzerParallelism = objectFactory.property(Integer.class);
+        this.analyzerParseMode = objectFactory.property(EnumParseMode.class);
+        this.analyzerSkipFunctionBodies = objectFactory.property(Boolean.class);
+        this.parserService = objectFactory.property(RustParserService.class);
+        this.manifestService = objectFactory.property(CargoManifestService.class);
+        this.analysisCache = objectFactory.fileProperty();
+        this.analysisSnapshot = objectFactory.fileProperty();
+        this.reportDirectory = objectFactory.directoryProperty();
     }
 
     @TaskAction
     public void performTask() {
         // Analyze all rust projects
+        this.parserService.get().warmUp(this.getLogger());
         this.getLogger().info("Analyzing all imported Rust modules");
-        final SourceFileAnalyzer sourceFileAnalyzer = new SourceFileAnalyzer(this.getLogger());
-        for (final Path moduleFolder : this.moduleFolders) {
-            sourceFileAnalyzer.analyzeProject(moduleFolder);
+        final AnalyzerConfiguration configuration = new AnalyzerConfiguration(this.analyzerParallelism.get(),
+                this.analyzerParseMode.get(), this.analyzerSkipFunctionBodies.get());
+        final AnalysisCache analysisCache = new AnalysisCache(this.getLogger(), this.analysisCache.get().getAsFile()
+                .toPath(), configuration);
+        analysisCache.load();
+        final SourceFileAnalyzer sourceFileAnalyzer = new SourceFileAnalyzer(this.getLogger(), configuration,
+                analysisCache, this.manifestService.get().getManifestLoader(),
+                this.parserService.get().getParserFactory());
+        final TypeMapper typeMapper = new TypeMapper();
+        final RustTypeTable typeTable;
+        try (sourceFileAnalyzer) {
+            sourceFileAnalyzer.analyzeProjects(this.moduleFolders);
+            if (configuration.parseMode() == EnumParseMode.TWO_STAGE) {
+                this.getLogger().info("{} source files needed the LL fallback parse",
+                        sourceFileAnalyzer.getFallbackParseCount());
+            }
+            analysisCache.save();
+
+            // Write timings, token counts and syntax errors of all files for finding the expensive ones
+            final Path reportFolder = this.reportDirectory.get().getAsFile().toPath();
+            AnalysisMetricsReport.write(reportFolder, sourceFileAnalyzer.getFileMetrics());
+            this.getLogger().info("Wrote analysis metrics of {} source files to '{}'",
+                    sourceFileAnalyzer.getFileMetrics().size(), reportFolder);
+
+            // Adjust names for following passes and index the structs of all projects
+            sourceFileAnalyzer.prepareProjects(typeMapper);
+            typeTable = sourceFileAnalyzer.buildTypeTable(typeMapper);
         }
 
-        // Adjust names for following passes
-        final TypeMapper typeMapper = new TypeMapper();
-        sourceFileAnalyzer.renameStructs();
-        sourceFileAnalyzer.reformatFunctions(typeMapper);
-        sourceFileAnalyzer.reformatTypes(typeMapper);
+        // Persist the prepared model for other consumers of the analysis
+        final Path snapshotFile = this.analysisSnapshot.get().getAsFile().toPath();
+        AnalysisSnapshot.write(snapshotFile, sourceFileAnalyzer.getProjects());
+        this.getLogger().info("Wrote analysis snapshot to '{}'", snapshotFile);
 
         // Generate Type Mapping
         this.getLogger().info("Generate Type Mappings");
-        for (final RustProject project : sourceFileAnalyzer.getProjects()) {
-            final var structs = project.files().stream().map(RustFile::structs).flatMap(Collection::stream).toList();
-            for (RustStruct struct : structs) {
-                final String structPath = String.format("%s::%s", project.projectName().replace("-", "_"), struct.name());
-
-                // Skip struct if no jni_import attribute found
-                if (struct.attributes().stream().map(RustAttribute::name).noneMatch(name -> name
-                        .equals(JavaCodeGenTask.JNI_EXPORT_ATTR_NAME))) {
-                    this.getLogger().warn("Skipping {} because of missing jni_export attribute", structPath);
-                    continue;
-                }
-
-                // Get name of java class/type
-                final String javaName = struct.attributes().stream().filter(attr -> attr.name()
-                                .equals(JavaCodeGenTask.JNI_EXPORT_ATTR_NAME))
-                        .map(attr -> attr.parameters().get("class")).filter(Objects::nonNull).findFirst().orElse(null);
-                if (javaName == null)
-                    throw new AnalyzerException("Illegal jni_export attribute => Missing class name in definition");
+        for (final RustTypeTable.Entry entry : typeTable.entries()) {
+            final String structPath = entry.struct().name();
 
-                // Generate path mapping and inform user about it
-                typeMapper.registerIfNotExists(structPath, javaName);
-                this.getLogger().info("Mapped {} to {}", structPath, javaName);
+            // Skip struct if no jni_import attribute found
+            if (!entry.isExported()) {
+                this.getLogger().warn("Skipping {} because of missing jni_export attribute", structPath);
+                continue;
             }
+
+            // Generate path mapping and inform user about it
+            final String javaName = Objects.requireNonNull(entry.javaClassName());
+            typeMapper.registerIfNotExists(structPath, javaName);
+            this.getLogger().debug("Mapped {} to {}", structPath, javaName);
         }
+        this.getLogger().info("Mapped {} exported structs to Java types", typeTable.entries().stream()
+                .filter(RustTypeTable.Entry::isExported).count());
 
-        // Generate generated sources directory if needed
-        this.getLogger().info("Generate if needed and cleanup if needed generated source directory");
+        // Generate generated sources directory if needed, its content is replaced file by file
         final Path generatedSourceFolder = this.getProject().getBuildDir().toPath().resolve("generated/source")
                 .resolve("react-native-rust/main/java");
         PathHelper.createDirectoryIfNotExists(this.getProject(), generatedSourceFolder);
-
-        final Path generatedSourcePackage = generatedSourceFolder.resolve(this.basePackage.get().replace(".", "/"))
-                .resolve("generated");
-        PathHelper.deleteDirectory(this.getProject(), generatedSourcePackage);
-        PathHelper.createDirectoryIfNotExists(this.getProject(), generatedSourcePackage);
-
-        // Generate Java classes from Struct structures
-        this.getLogger().info("Generate Java classes from Rust structures");
-
-        final Map<String, ClassBuilder> generatedClasses = new HashMap<>();
-        for (final RustProject project : sourceFileAnalyzer.getProjects()) {
-            // Enumerate all structs in project
-            for (final RustStruct struct : project.files().stream().map(RustFile::structs).flatMap(Collection::stream)
-                    .toList()) {
-
+        final GeneratedSourceWriter sourceWriter = new GeneratedSourceWriter(generatedSourceFolder);
+
+        // Every class is generated and written as own task, the workers share the frozen mappings
+        final TypeMapper frozenMapper = typeMapper.freeze();
+        final ForkJoinPool generatorPool = new ForkJoinPool(configuration.parallelism());
+        final List<ForkJoinTask<?>> generateTasks = new ArrayList<>();
+        try {
+            // Generate Java classes from Struct structures
+            this.getLogger().info("Generate Java classes from Rust structures");
+            final Set<String> structClassNames = new HashSet<>();
+            for (final RustTypeTable.Entry entry : typeTable.entries()) {
                 // Filter not exported structures
-                final RustAttribute exportAttribute = struct.attributes().stream()
-                        .filter(attr -> attr.name().equals(JavaCodeGenTask.JNI_EXPORT_ATTR_NAME))
-                        .findFirst().orElse(null);
-                if (exportAttribute == null)
+                if (!entry.isExported())
                     continue;
 
                 // Avoid collisions in class generation
-                final String className = exportAttribute.parameters().get("class").replace("\"", "");
-                if (generatedClasses.containsKey(className))
-                    throw new CodeGenerationException("Unable to generate class '%s' => Class was already created", className);
+                final String className = Objects.requireNonNull(entry.javaClassName());
+                if (!structClassNames.add(className)) {
+                    throw new CodeGenerationException("Unable to generate class '%s' => Class was already created",
+                            className);
+                }
 
-                // Generate class builder by struct
-                final ClassBuilder classBuilder = this.generateStructClass(typeMapper, struct, className);
+                // Generate class by struct and write it
+                generateTasks.add(generatorPool.submit(() -> this.writeClass(sourceWriter, className,
+                        output -> this.generateStructClass(frozenMapper, entry.struct(), className, output))));
+                this.getLogger().debug("Generate class '{}' from project '{}'", className, entry.projectName());
+            }
 
-                // Add generate class to generated classes map
-                this.getLogger().info("Generated class '{}' from project '{}'", className, project.projectName());
-                generatedClasses.put(className, classBuilder);
+            // Group the exported functions by their module class, a class is written in one go and gets the
+            // functions of all projects
+            this.getLogger().info("Generate Rust mapping classes as React Native modules");
+            final Map<String, List<RustFunction>> functionsByClass = new LinkedHashMap<>();
+            for (final RustProject project : sourceFileAnalyzer.getProjects()) {
+                for (final RustFile file : project.files()) {
+                    for (final RustFunction function : file.functions()) {
+                        // Filter not exported functions
+                        final RustAttribute exportAttribute = function.attributes().stream()
+                                .filter(attr -> attr.name().equals(JavaCodeGenTask.JNI_EXPORT_ATTR_NAME))
+                                .findFirst().orElse(null);
+                        if (exportAttribute == null)
+                            continue;
+
+                        final String className = exportAttribute.parameters().get("class").replace("\"", "");
+                        functionsByClass.computeIfAbsent(className, ignored -> new ArrayList<>()).add(function);
+                    }
+                }
             }
-        }
 
-        // Inform the user about the generation and write generated classes to specified directories
-        this.getLogger().info("Generated {} classes as Wrapper for Rust structs", generatedClasses.size());
+            // Generate module classes for mapping between Rust and Java functions and write them
+            for (final Map.Entry<String, List<RustFunction>> classEntry : functionsByClass.entrySet()) {
+                generateTasks.add(generatorPool.submit(() -> this.writeClass(sourceWriter, classEntry.getKey(),
+                        output -> this.generateModuleClass(frozenMapper, classEntry.getKey(),
+                                classEntry.getValue(), output))));
+            }
 
-        for (final Map.Entry<String, ClassBuilder> classEntry : generatedClasses.entrySet()) {
-            final Path classPath = generatedSourceFolder.resolve(String.format("%s.java", classEntry.getKey()
-                    .replace(".", "/")));
-            PathHelper.createDirectoryIfNotExists(this.getProject(), classPath.getParent());
-            PathHelper.writeFile(classPath, classEntry.getValue().build());
-            this.getLogger().info("Successfully wrote class '{}' into '{}'", classEntry.getKey(), classPath.toAbsolutePath());
+            // Generate package class, which only loads the cdylib packages bundled by the native bundle task
+            final List<String> modules = List.copyOf(functionsByClass.keySet());
+            final CargoManifestLoader manifestLoader = this.manifestService.get().getManifestLoader();
+            final List<String> libraryNames = this.moduleFolders.stream()
+                    .flatMap(moduleFolder -> manifestLoader.loadNativeLibraries(moduleFolder).stream())
+                    .map(CargoManifest::getCrateName).distinct().toList();
+            final String packageClassName = basePackage.get() + ".generated.GeneratedPackage";
+            generateTasks.add(generatorPool.submit(() -> this.writeClass(sourceWriter, packageClassName,
+                    output -> this.generatePackageClass(packageClassName, modules, libraryNames, output))));
+
+            // Wait for all classes in order of submission, so the first failing class is reported deterministically
+            for (final ForkJoinTask<?> generateTask : generateTasks) {
+                generateTask.join();
+            }
+            this.getLogger().info("Generated {} classes as Wrapper for Rust structs and {} classes as Wrapper for " +
+                    "Rust functions with parallelism of {}", structClassNames.size(), functionsByClass.size(),
+                    generatorPool.getParallelism());
+        } finally {
+            generatorPool.shutdown();
         }
 
-        // Generate module classes for mapping between Rust and Java functions
-        generatedClasses.clear();
-        this.getLogger().info("Generate Rust mapping classes as React Native modules");
+        // Remove classes of structs and functions which aren't exported anymore
+        final int deletedCount = sourceWriter.deleteStaleFiles();
+        this.getLogger().info("Wrote {} changed classes, kept {} unchanged classes and deleted {} stale files",
+                sourceWriter.getChangedCount(), sourceWriter.getUnchangedCount(), deletedCount);
+    }
 
+    private void writeClass(@NotNull final GeneratedSourceWriter sourceWriter, @NotNull final String className,
+                            @NotNull final Consumer<Appendable> generator) {
+        if (sourceWriter.write(className, generator)) {
+            this.getLogger().debug("Successfully wrote class '{}'", className);
+        } else {
+            this.getLogger().debug("Class '{}' is unchanged, keeping existing file", className);
+        }
+    }
 
-        for (final RustProject project : sourceFileAnalyzer.getProjects()) {
-            // Enumerate all functions in project
-            for (final RustFunction function : project.files().stream().map(RustFile::functions)
-                    .flatMap(Collection::stream).toList()) {
+    private void generateModuleClass(@NotNull final TypeMapper typeMapper, @NotNull final String className,
+                                     @NotNull final List<RustFunction> functions, @NotNull final Appendable output) {
+        final ClassBuilder classBuilder = new ClassBuilder(output, Modifier.PUBLIC | Modifier.FINAL, className,
+                "com.facebook.react.bridge.ReactContextBaseJavaModule", List.of());
+
+        // Generate constructor
+        final String classNameNoPackage = className.substring(className.lastIndexOf('.') + 1);
+        final ParameterList params = ParameterList.of("context", "com.facebook.react.bridge.ReactApplicationContext");
+        classBuilder
+                .addConstructor(Modifier.PUBLIC, params)
+                .addStatement(new CallExpression("super", List.of(new VariableExpression("context", false))))
+                .build();
 
-                // Filter not exported functions
-                final RustAttribute exportAttribute = function.attributes().stream()
-                        .filter(attr -> attr.name().equals(JavaCodeGenTask.JNI_EXPORT_ATTR_NAME))
-                        .findFirst().orElse(null);
-                if (exportAttribute == null)
-                    continue;
+        // Generate getName method
+        classBuilder
+                .addMethod(Modifier.PUBLIC, "getName", ParameterList.EMPTY, "String")
+                .addStatement(new ReturnStatement(new ValueExpression(classNameNoPackage)))
+                .build();
 
-                // Get name of class and check if class builder is already present
-                final String className = exportAttribute.parameters().get("class").replace("\"", "");
-                final boolean isClassBuilderAlreadyPresent = generatedClasses.containsKey(className);
-
-                // Get class builder if present, otherwise create new class builder
-                final ClassBuilder classBuilder = generatedClasses.entrySet().stream()
-                        .filter(entry -> entry.getKey().equals(className))
-                        .map(Map.Entry::getValue)
-                        .findFirst()
-                        .orElse(new ClassBuilder(Modifier.PUBLIC | Modifier.FINAL, className,
-                                "com.facebook.react.bridge.ReactContextBaseJavaModule", List.of()));
-
-                // Generate constructor and getName method if necessary
-                final String classNameNoPackage = className.replace(className.substring(0, className.lastIndexOf('.') + 1), "");
-                if (!isClassBuilderAlreadyPresent) {
-                    // Generate constructor
-                    final Map<String, String> params = Map.of("context", "com.facebook.react.bridge.ReactApplicationContext");
-                    classBuilder
-                            .addConstructor(Modifier.PUBLIC, params)
-                            .addStatement(new CallExpression("super", List.of(new VariableExpression("context", false))))
-                            .build();
-
-                    // Generate getName method
-                    classBuilder
-                            .addMethod(Modifier.PUBLIC, "getName", Map.of(), "String")
-                            .addStatement(new ReturnStatement(new ValueExpression(classNameNoPackage)))
-                            .build();
-                }
+        for (final RustFunction function : functions) {
+            // Map the parameters of the native method, the mapper method and the call of the native method in
+            // one pass over the parameters, keeping the order of the Rust function
+            final ParameterList functionParameters = function.parameters();
+            final ParameterList.Builder nativeParameters = new ParameterList.Builder(functionParameters.size());
+            final ParameterList.Builder mapperParameters = new ParameterList.Builder(functionParameters.size() + 1);
+            final List<IExpression> callParameters = new ArrayList<>(functionParameters.size());
+            mapperParameters.add("promise", "com.facebook.react.bridge.Promise");
+            for (int i = 0; i < functionParameters.size(); i++) {
+                final String name = functionParameters.name(i);
+                final String rustType = functionParameters.type(i);
+                if (SourceFileAnalyzer.isJniEnvironmentType(rustType))
+                    continue;
 
-                // Map types for parameters
-                final Map<String, String> parameters = MapHelper.reversed(function.parameters().entrySet().stream()
-                        .filter(entry -> !entry.getValue().endsWith("JNIEnv") && !entry.getValue().endsWith("JClass"))
-                        .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), typeMapper.map(entry.getValue())))
-                        .collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue)));
-
-                // Generate native method
-                final String mappedReturnType = typeMapper.map(function.returnType().orElse("void"));
-                classBuilder.addMethod(Modifier.PUBLIC | Modifier.STATIC | Modifier.NATIVE, function.functionName(),
-                        parameters, mappedReturnType).build();
-
-                // Generate mapper method
-                final Map<String, String> mapperParameters = new LinkedHashMap<>();
-                mapperParameters.put("promise", "com.facebook.react.bridge.Promise");
-                mapperParameters.putAll(MapHelper.replaceAllValues(parameters,
-                        Predicate.not(typeMapper::isDefaultTypeJava), "com.facebook.react.bridge.ReadableMap"));
-                final MethodBuilder wrapperBuilder = classBuilder.addMethod(Modifier.PUBLIC, function.functionName(),
-                        mapperParameters,
-                        "void", List.of("com.facebook.react.bridge.ReactMethod"));
-
-                // Generate mapper method body
-                final List<IExpression> callParameters = new ArrayList<>(parameters.entrySet().stream()
-                        .map(parameter -> {
-                            if (typeMapper.isDefaultTypeJava(parameter.getValue())) {
-                                return new VariableExpression(parameter.getKey(), false);
-                            } else {
-                                return new CallExpression(parameter.getValue() + ".fromMap",
-                                        List.of(new VariableExpression(parameter.getKey(), false)));
-                            }
-                        })
-                        .toList());
-
-                // Get return type and default information
-                final boolean returnTypeDefault = function.returnType().map(typeMapper::isDefaultTypeRust).orElse(true);
-
-                // Generate function content
-                final CallExpression functionCallExpression = new CallExpression(classNameNoPackage + "." +
-                        function.functionName(), callParameters, returnTypeDefault ? "" : ".toMap()");
-                if (function.returnType().isPresent()) {
-                    wrapperBuilder.addStatement(new CallExpression("promise.resolve", List.of(functionCallExpression)));
+                final String javaType = typeMapper.map(rustType);
+                nativeParameters.add(name, javaType);
+                if (typeMapper.isDefaultTypeJava(javaType)) {
+                    mapperParameters.add(name, javaType);
+                    callParameters.add(new VariableExpression(name, false));
                 } else {
-                    wrapperBuilder.addStatement(functionCallExpression);
-                    wrapperBuilder.addStatement(new CallExpression("promise.resolve", List.of(new ValueExpression(null))));
+                    mapperParameters.add(name, "com.facebook.react.bridge.ReadableMap");
+                    callParameters.add(new CallExpression(javaType + ".fromMap",
+                            List.of(new VariableExpression(name, false))));
                 }
+            }
 
-                // Finish method generation
-                wrapperBuilder.build();
+            // Generate native method
+            final String mappedReturnType = typeMapper.map(function.returnType().orElse("void"));
+            classBuilder.addMethod(Modifier.PUBLIC | Modifier.STATIC | Modifier.NATIVE, function.functionName(),
+                    nativeParameters.build(), mappedReturnType).build();
 
-                // Save class builder in map if necessary
-                if (!isClassBuilderAlreadyPresent) {
-                    generatedClasses.put(className, classBuilder);
-                }
-            }
-        }
+            // Generate mapper method
+            final MethodBuilder wrapperBuilder = classBuilder.addMethod(Modifier.PUBLIC, function.functionName(),
+                    mapperParameters.build(), "void", List.of("com.facebook.react.bridge.ReactMethod"));
 
+            // Get return type and default information
+            final boolean returnTypeDefault = function.returnType().map(typeMapper::isDefaultTypeRust).orElse(true);
 
-        // Inform the user about the generation and write generated classes to specified directories
-        this.getLogger().info("Generated {} classes as Wrapper for Rust functions", generatedClasses.size());
+            // Generate function content
+            final CallExpression functionCallExpression = new CallExpression(classNameNoPackage + "." +
+                    function.functionName(), callParameters, returnTypeDefault ? "" : ".toMap()");
+            if (function.returnType().isPresent()) {
+                wrapperBuilder.addStatement(new CallExpression("promise.resolve", List.of(functionCallExpression)));
+            } else {
+                wrapperBuilder.addStatement(functionCallExpression);
+                wrapperBuilder.addStatement(new CallExpression("promise.resolve", List.of(new ValueExpression(null))));
+            }
 
-        for (final Map.Entry<String, ClassBuilder> classEntry : generatedClasses.entrySet()) {
-            final Path classPath = generatedSourceFolder.resolve(String.format("%s.java", classEntry.getKey()
-                    .replace(".", "/")));
-            PathHelper.createDirectoryIfNotExists(this.getProject(), classPath.getParent());
-            PathHelper.writeFile(classPath, classEntry.getValue().build());
-            this.getLogger().info("Successfully wrote class '{}' into '{}'", classEntry.getKey(), classPath.toAbsolutePath());
+            // Finish method generation
+            wrapperBuilder.build();
         }
 
-        // Get modules names
-        final List<String> modules = sourceFileAnalyzer.getProjects().stream()
-                .map(RustProject::files).flatMap(Collection::stream)
-                .map(RustFile::functions).flatMap(Collection::stream)
-                .map(function -> {
-                    for (RustAttribute attribute : function.attributes()) {
-                        if (!attribute.name().contains(JavaCodeGenTask.JNI_EXPORT_ATTR_NAME))
-                            continue;
-
-                        return attribute.parameters().get("class");
-                    }
-                    return null;
-                })
-                .filter(Objects::nonNull)
-                .toList();
-
-        // Generate package class
-        final List<String> projectNames = sourceFileAnalyzer.getProjects().stream().map(RustProject::projectName).toList();
-        this.generatePackageClass(basePackage.get() + ".generated", generatedSourceFolder, modules, projectNames);
+        classBuilder.finish();
     }
 
-    private void generatePackageClass(@NotNull final String basePackage, @NotNull final Path root,
-                                      @NotNull final List<String> modules,
-                                      @NotNull final List<String> projects) {
+    private void generatePackageClass(@NotNull final String name, @NotNull final List<String> modules,
+                                      @NotNull final List<String> libraryNames, @NotNull final Appendable output) {
         // Generate class
-        final String name = basePackage + ".GeneratedPackage";
-        final ClassBuilder classBuilder = new ClassBuilder(Modifier.PUBLIC | Modifier.FINAL, name, null,
+        final ClassBuilder classBuilder = new ClassBuilder(output, Modifier.PUBLIC | Modifier.FINAL, name, null,
                 List.of("com.facebook.react.ReactPackage"));
 
         // Generate static constructor
         final MethodBuilder staticConstructorBuilder = classBuilder.addStaticConstructor();
-        for (final String project : projects) {
+        for (final String libraryName : libraryNames) {
             staticConstructorBuilder.addStatement(new CallExpression("System.loadLibrary",
-                    List.of(new ValueExpression(project.replace("-", "_")))));
+                    List.of(new ValueExpression(libraryName))));
         }
         staticConstructorBuilder.build();
 
         // Generate createNativeModules method
         final List<IExpression> callExpressions = modules.stream()
-                .map(className -> new CallExpression("new " + className.replace("\"", ""),
+                .map(className -> new CallExpression("new " + className,
                         List.of(new VariableExpression("context", false))))
                 .collect(Collectors.toList());
 
         classBuilder.addMethod(Modifier.PUBLIC, "createNativeModules",
-                        Map.of("context", "com.facebook.react.bridge.ReactApplicationContext"),
+                        ParameterList.of("context", "com.facebook.react.bridge.ReactApplicationContext"),
                         "java.util.List<com.facebook.react.bridge.NativeModule>", List.of("Override"))
                 .addStatement(new ReturnStatement(new CallExpression("java.util.Arrays.asList", callExpressions)))
                 .build();
 
         // Generate createViewManagers method
         classBuilder.addMethod(Modifier.PUBLIC, "createViewManagers",
-                Map.of("context", "com.facebook.react.bridge.ReactApplicationContext"),
+                ParameterList.of("context", "com.facebook.react.bridge.ReactApplicationContext"),
                 "java.util.List<com.facebook.react.uimanager.ViewManager>", List.of("Override"))
                 .addStatement(new ReturnStatement(new CallExpression("java.util.Collections.emptyList", List.of())))
                 .build();
 
-        // Write class
-        PathHelper.createDirectoryIfNotExists(this.getProject(), root);
-        PathHelper.writeFile(root.resolve(name.replace(".", "/") + ".java"), classBuilder.build());
-
+        classBuilder.finish();
     }
 
-    private @NotNull ClassBuilder generateStructClass(@NotNull final TypeMapper typeMapper,
-                                                      @NotNull final RustStruct struct, @NotNull final String className) {
-        final ClassBuilder classBuilder = new ClassBuilder(Modifier.PUBLIC | Modifier.FINAL, className, null, List.of());
+    private void generateStructClass(@NotNull final TypeMapper typeMapper, @NotNull final RustStruct struct,
+                                     @NotNull final String className, @NotNull final Appendable output) {
+        final ClassBuilder classBuilder = new ClassBuilder(output, Modifier.PUBLIC | Modifier.FINAL, className, null,
+                List.of());
 
         // Map fields for types
-        final Map<String, String> mappedParameters = struct.parameters().entrySet().stream()
-                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), typeMapper.map(entry.getValue())))
-                .collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
+        final ParameterList mappedParameters = struct.parameters().mapTypes(typeMapper::map);
         mappedParameters.forEach((name, value) -> classBuilder.addField(Modifier.PUBLIC, name, value));
 
         // Generate constructor for class
@@ -325,21 +351,22 @@ public class JavaCodeGenTask extends DefaultTask {
 
         // Generate fromMap method
         MethodBuilder fromMapBuilder = classBuilder.addMethod(Modifier.PUBLIC | Modifier.STATIC, "fromMap",
-                Map.of("map", "com.facebook.react.bridge.ReadableMap"), className);
+                ParameterList.of("map", "com.facebook.react.bridge.ReadableMap"), className);
 
         // Collect parameters for constructor call
-        final List<IExpression> parametersForBuild = new ArrayList<>();
-        struct.parameters().forEach((name, type) -> {
-            final String javaType = typeMapper.map(type);
+        final List<IExpression> parametersForBuild = new ArrayList<>(mappedParameters.size());
+        for (int i = 0; i < mappedParameters.size(); i++) {
+            final String name = mappedParameters.name(i);
+            final String javaType = mappedParameters.type(i);
 
-            if (typeMapper.isDefaultTypeRust(type)) {
+            if (typeMapper.isDefaultTypeRust(struct.parameters().type(i))) {
                 parametersForBuild.add(new CallExpression(String.format("map.get%s", this.capitalize(javaType)),
                         List.of(new ValueExpression(name))));
             } else {
                 final IExpression getMapExpression = new CallExpression("map.getMap", List.of(new ValueExpression(name)));
                 parametersForBuild.add(new CallExpression(javaType + ".fromMap", List.of(getMapExpression)));
             }
-        });
+        }
 
         // Emit constructor call and finish build
         fromMapBuilder.addStatement(new ReturnStatement(new CallExpression("new " + className, parametersForBuild)));
@@ -347,23 +374,24 @@ public class JavaCodeGenTask extends DefaultTask {
 
         // Generate toMap method
         MethodBuilder toMapBuilder = classBuilder.addMethod(Modifier.PUBLIC, "toMap",
-                Map.of(), "com.facebook.react.bridge.ReadableMap");
+                ParameterList.EMPTY, "com.facebook.react.bridge.ReadableMap");
         toMapBuilder.addStatement(new AssignmentStatement(
                 new VariableExpression("final com.facebook.react.bridge.WritableMap map", false),
                 new CallExpression("new com.facebook.react.bridge.WritableNativeMap", List.of()))
         );
 
-        struct.parameters().forEach((name, type) -> {
-            final String javaType = typeMapper.map(type);
+        for (int i = 0; i < mappedParameters.size(); i++) {
+            final String name = mappedParameters.name(i);
+            final String javaType = mappedParameters.type(i);
 
-            if (typeMapper.isDefaultTypeRust(type)) {
+            if (typeMapper.isDefaultTypeRust(struct.parameters().type(i))) {
                 toMapBuilder.addStatement(new CallExpression(String.format("map.put%s", this.capitalize(javaType)),
                         List.of(new ValueExpression(name), new VariableExpression(name, false))));
             } else {
                 final IExpression getMapExpression = new CallExpression("this." + name + ".toMap", List.of());
                 toMapBuilder.addStatement(new CallExpression("map.putMap", List.of(getMapExpression)));
             }
-        });
+        }
 
         toMapBuilder.addStatement(new ReturnStatement(new VariableExpression("map", false)));
         toMapBuilder.build();
@@ -371,18 +399,19 @@ public class JavaCodeGenTask extends DefaultTask {
         // Apply getter and setter for fields
         mappedParameters.forEach((name, value) -> {
             classBuilder
-                    .addMethod(Modifier.PUBLIC, String.format("set%s", this.capitalize(name)), Map.of(name, value), null)
+                    .addMethod(Modifier.PUBLIC, String.format("set%s", this.capitalize(name)),
+                            ParameterList.of(name, value), null)
                     .addStatement(new AssignmentStatement(new VariableExpression(name, true),
                             new VariableExpression(name, false)))
                     .build();
 
             classBuilder
-                    .addMethod(Modifier.PUBLIC, String.format("get%s", this.capitalize(name)), Map.of(), value)
+                    .addMethod(Modifier.PUBLIC, String.format("get%s", this.capitalize(name)), ParameterList.EMPTY, value)
                     .addStatement(new ReturnStatement(new VariableExpression(name, true)))
                     .build();
         });
 
-        return classBuilder;
+        classBuilder.finish();
     }
 
     @Input
@@ -395,6 +424,46 @@ public class JavaCodeGenTask extends DefaultTask {
         return this.basePackage;
     }
 
+    @Internal
+    public @NotNull Property<Integer> getAnalyzerParallelism() {
+        return this.analyzerParallelism;
+    }
+
+    @Input
+    public @NotNull Property<EnumParseMode> getAnalyzerParseMode() {
+        return this.analyzerParseMode;
+    }
+
+    @Input
+    public @NotNull Property<Boolean> getAnalyzerSkipFunctionBodies() {
+        return this.analyzerSkipFunctionBodies;
+    }
+
+    @Internal
+    public @NotNull Property<RustParserService> getParserService() {
+        return this.parserService;
+    }
+
+    @Internal
+    public @NotNull Property<CargoManifestService> getManifestService() {
+        return this.manifestService;
+    }
+
+    @OutputFile
+    public @NotNull RegularFileProperty getAnalysisCache() {
+        return this.analysisCache;
+    }
+
+    @OutputFile
+    public @NotNull RegularFileProperty getAnalysisSnapshot() {
+        return this.analysisSnapshot;
+    }
+
+    @OutputDirectory
+    public @NotNull DirectoryProperty getReportDirectory() {
+        return this.reportDirectory;
+    }
+
     private @NotNull String capitalize(@NotNull final String string) {
         return string.substring(0, 1).toUpperCase() + string.substring(1);
     }
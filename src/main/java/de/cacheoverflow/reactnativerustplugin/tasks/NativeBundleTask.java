@@ -1,13 +1,20 @@
 package de.cacheoverflow.reactnativerustplugin.tasks;
 
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifest;
+import de.cacheoverflow.reactnativerustplugin.rust.manifest.CargoManifestLoader;
+import de.cacheoverflow.reactnativerustplugin.service.CargoManifestService;
 import de.cacheoverflow.reactnativerustplugin.utils.EnumAndroidTarget;
 import de.cacheoverflow.reactnativerustplugin.utils.PathHelper;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 import org.jetbrains.annotations.NotNull;
 
+import javax.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -18,6 +25,12 @@ import java.util.List;
 public class NativeBundleTask extends DefaultTask {
 
     private final List<Path> moduleFolders = new ArrayList<>();
+    private final Property<CargoManifestService> manifestService;
+
+    @Inject
+    public NativeBundleTask(@NotNull final Project project) {
+        this.manifestService = project.getObjects().property(CargoManifestService.class);
+    }
 
     @TaskAction
     public void performTask() {
@@ -28,27 +41,33 @@ public class NativeBundleTask extends DefaultTask {
         final Path mainSourceSetJniLibs = mainSourceSet.resolve("jniLibs");
         PathHelper.createDirectoryIfNotExists(this.getProject(), mainSourceSetJniLibs);
 
+        final CargoManifestLoader manifestLoader = this.manifestService.get().getManifestLoader();
         for (final Path moduleFolder : this.moduleFolders) {
+            // Workspace members share the target folder of the workspace root, only cdylib members are bundled
+            final List<CargoManifest> packages = manifestLoader.loadNativeLibraries(moduleFolder);
             for (final EnumAndroidTarget target : EnumAndroidTarget.values()) {
                 final Path targetLibraries = mainSourceSetJniLibs.resolve(target.getArchitecture());
                 PathHelper.createDirectoryIfNotExists(this.getProject(), targetLibraries);
-                final String fileName = moduleFolder.getFileName().toString().replace("-", "_");
-
-                // Check if module library file does exists
-                final Path rustLibraryFile = moduleFolder.resolve(String.format("target/%s/debug", target.getTargetTriple()))
-                        .resolve(String.format("lib%s.so", fileName));
-                if (!Files.exists(rustLibraryFile) || !Files.isRegularFile(rustLibraryFile))
-                    throw new GradleException(String.format("Unable to find file '%s': Add crate-type = " +
-                            "[\"staticlib\", \"cdylib\"] and name attribute to your Cargo.toml", rustLibraryFile.toAbsolutePath()));
-
-                // Get path on Android project side
-                final Path javaLibraryFile = targetLibraries.resolve(String.format("lib%s.so", fileName));
-                PathHelper.createFileIfNotExists(this.getProject(), javaLibraryFile);
-
-                try {
-                    Files.copy(rustLibraryFile, javaLibraryFile, StandardCopyOption.REPLACE_EXISTING);
-                } catch (IOException ex) {
-                    throw new GradleException("Unable to copy the rust library file to the java library file path", ex);
+
+                for (final CargoManifest manifest : packages) {
+                    final String fileName = manifest.getCrateName();
+
+                    // Check if module library file does exists
+                    final Path rustLibraryFile = moduleFolder.resolve(String.format("target/%s/debug", target.getTargetTriple()))
+                            .resolve(String.format("lib%s.so", fileName));
+                    if (!Files.exists(rustLibraryFile) || !Files.isRegularFile(rustLibraryFile))
+                        throw new GradleException(String.format("Unable to find file '%s': Add crate-type = " +
+                                "[\"staticlib\", \"cdylib\"] to your Cargo.toml", rustLibraryFile.toAbsolutePath()));
+
+                    // Get path on Android project side
+                    final Path javaLibraryFile = targetLibraries.resolve(String.format("lib%s.so", fileName));
+                    PathHelper.createFileIfNotExists(this.getProject(), javaLibraryFile);
+
+                    try {
+                        Files.copy(rustLibraryFile, javaLibraryFile, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException ex) {
+                        throw new GradleException("Unable to copy the rust library file to the java library file path", ex);
+                    }
                 }
             }
         }
@@ -58,4 +77,9 @@ public class NativeBundleTask extends DefaultTask {
     public @NotNull List<Path> getModuleFolders() {
         return this.moduleFolders;
     }
+
+    @Internal
+    public @NotNull Property<CargoManifestService> getManifestService() {
+        return this.manifestService;
+    }
 }
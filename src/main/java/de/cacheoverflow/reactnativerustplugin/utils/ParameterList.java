@@ -0,0 +1,134 @@
+package de.cacheoverflow.reactnativerustplugin.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+// Immutable list of named parameters in declaration order, backed by two parallel arrays instead of a hash map. The
+// lists are small (function parameters, struct fields, attribute arguments), so lookups by name are linear.
+public final class ParameterList {
+
+    private static final String[] EMPTY_ARRAY = new String[0];
+    public static final ParameterList EMPTY = new ParameterList(EMPTY_ARRAY, EMPTY_ARRAY);
+
+    private final String[] names;
+    private final String[] types;
+
+    private ParameterList(@NotNull final String[] names, @NotNull final String[] types) {
+        this.names = names;
+        this.types = types;
+    }
+
+    public static @NotNull ParameterList of(@NotNull final String name, @NotNull final String type) {
+        return new ParameterList(new String[] {name}, new String[] {type});
+    }
+
+    public @NotNull ParameterList mapTypes(@NotNull final UnaryOperator<String> mapper) {
+        if (this.names.length == 0)
+            return this;
+
+        final String[] mappedTypes = new String[this.types.length];
+        for (int i = 0; i < this.types.length; i++) {
+            mappedTypes[i] = mapper.apply(this.types[i]);
+        }
+        return new ParameterList(this.names, mappedTypes);
+    }
+
+    public void forEach(@NotNull final BiConsumer<String, String> consumer) {
+        for (int i = 0; i < this.names.length; i++) {
+            consumer.accept(this.names[i], this.types[i]);
+        }
+    }
+
+    public @Nullable String get(@NotNull final String name) {
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.names[i].equals(name))
+                return this.types[i];
+        }
+        return null;
+    }
+
+    public @NotNull String name(final int index) {
+        return this.names[index];
+    }
+
+    public @NotNull String type(final int index) {
+        return this.types[index];
+    }
+
+    public int size() {
+        return this.names.length;
+    }
+
+    public boolean isEmpty() {
+        return this.names.length == 0;
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof ParameterList parameterList))
+            return false;
+
+        return Arrays.equals(this.names, parameterList.names) && Arrays.equals(this.types, parameterList.types);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.names) + Arrays.hashCode(this.types);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.names.length; i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(this.names[i]).append(": ").append(this.types[i]);
+        }
+        return builder.toString();
+    }
+
+    public static final class Builder {
+
+        private String[] names;
+        private String[] types;
+        private int size;
+
+        public Builder() {
+            this(4);
+        }
+
+        public Builder(final int expectedSize) {
+            this.names = new String[Math.max(expectedSize, 1)];
+            this.types = new String[this.names.length];
+        }
+
+        public @NotNull Builder add(@NotNull final String name, @NotNull final String type) {
+            if (this.size == this.names.length) {
+                this.names = Arrays.copyOf(this.names, this.size * 2);
+                this.types = Arrays.copyOf(this.types, this.size * 2);
+            }
+            this.names[this.size] = name;
+            this.types[this.size] = type;
+            this.size++;
+            return this;
+        }
+
+        public @NotNull ParameterList build() {
+            if (this.size == 0)
+                return ParameterList.EMPTY;
+
+            // Arrays of the exact size are handed over without copy, so the builder may not be used afterwards
+            if (this.size == this.names.length)
+                return new ParameterList(this.names, this.types);
+            return new ParameterList(Arrays.copyOf(this.names, this.size), Arrays.copyOf(this.types, this.size));
+        }
+
+    }
+
+}
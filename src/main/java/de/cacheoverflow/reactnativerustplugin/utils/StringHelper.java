@@ -2,16 +2,36 @@ package de.cacheoverflow.reactnativerustplugin.utils;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+
 public class StringHelper {
 
     private StringHelper() {
         throw new UnsupportedOperationException();
     }
 
-    public static void repeat(@NotNull final StringBuilder builder, @NotNull final String string, final int count) {
+    public static void repeat(@NotNull final Appendable output, @NotNull final String string, final int count)
+            throws IOException {
+        for (int i = 0; i < count; i++) {
+            output.append(string);
+        }
+    }
+
+    public static void appendJoined(@NotNull final Appendable output, final int count, @NotNull final String separator,
+                                    @NotNull final ElementAppender appender) throws IOException {
+        // The separator is written before every but the first element, so the output never has to be rewound
         for (int i = 0; i < count; i++) {
-            builder.append(string);
+            if (i > 0)
+                output.append(separator);
+            appender.append(output, i);
         }
     }
 
+    @FunctionalInterface
+    public interface ElementAppender {
+
+        void append(@NotNull final Appendable output, final int index) throws IOException;
+
+    }
+
 }
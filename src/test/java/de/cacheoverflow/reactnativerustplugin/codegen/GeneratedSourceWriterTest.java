@@ -0,0 +1,77 @@
+package de.cacheoverflow.reactnativerustplugin.codegen;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratedSourceWriterTest {
+
+    private static final FileTime MODIFIED_TIME = FileTime.fromMillis(0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsUnchangedFiles() throws IOException {
+        final Path classFile = this.directory.resolve("com/example/Native.java");
+        new GeneratedSourceWriter(this.directory).write("com.example.Native", GeneratedSourceWriterTest
+                .content("class Native {}"));
+        Files.setLastModifiedTime(classFile, MODIFIED_TIME);
+
+        final GeneratedSourceWriter writer = new GeneratedSourceWriter(this.directory);
+        assertFalse(writer.write("com.example.Native", GeneratedSourceWriterTest.content("class Native {}")));
+        assertEquals(MODIFIED_TIME, Files.getLastModifiedTime(classFile));
+        assertEquals(0, writer.getChangedCount());
+        assertEquals(1, writer.getUnchangedCount());
+    }
+
+    @Test
+    void replacesChangedFiles() throws IOException {
+        final Path classFile = this.directory.resolve("com/example/Native.java");
+        new GeneratedSourceWriter(this.directory).write("com.example.Native", GeneratedSourceWriterTest
+                .content("class Native {}"));
+
+        final GeneratedSourceWriter writer = new GeneratedSourceWriter(this.directory);
+        assertTrue(writer.write("com.example.Native", GeneratedSourceWriterTest
+                .content("class Native { int value; }")));
+        assertEquals("class Native { int value; }", Files.readString(classFile));
+        assertEquals(1, writer.getChangedCount());
+        assertEquals(0, writer.getUnchangedCount());
+    }
+
+    @Test
+    void deletesStaleFiles() throws IOException {
+        final GeneratedSourceWriter previousWriter = new GeneratedSourceWriter(this.directory);
+        previousWriter.write("com.example.Native", GeneratedSourceWriterTest.content("class Native {}"));
+        previousWriter.write("com.example.removed.Point", GeneratedSourceWriterTest.content("class Point {}"));
+
+        final GeneratedSourceWriter writer = new GeneratedSourceWriter(this.directory);
+        writer.write("com.example.Native", GeneratedSourceWriterTest.content("class Native {}"));
+        assertEquals(1, writer.deleteStaleFiles());
+        assertTrue(Files.isRegularFile(this.directory.resolve("com/example/Native.java")));
+        assertFalse(Files.exists(this.directory.resolve("com/example/removed")));
+        assertTrue(Files.isDirectory(this.directory));
+    }
+
+    private static @NotNull Consumer<Appendable> content(@NotNull final String content) {
+        return output -> {
+            try {
+                output.append(content);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+}
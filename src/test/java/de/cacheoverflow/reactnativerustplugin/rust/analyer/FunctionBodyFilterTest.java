@@ -0,0 +1,94 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFunction;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import de.cacheoverflow.reactnativerustplugin.rust.parser.RustLexer;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FunctionBodyFilterTest {
+
+    private static final RustParserFactory PARSER_FACTORY = new RustParserFactory();
+
+    @Test
+    void dropsFunctionBodies() {
+        assertEquals("fn add ( a : u8 ) -> u8 { }", FunctionBodyFilterTest.filter("""
+                fn add(a: u8) -> u8 { let b = { a }; b }"""));
+    }
+
+    @Test
+    void keepsFunctionPointerTypes() {
+        assertEquals("impl Trait for fn ( u8 ) -> u8 { fn call ( & self ) { } }", FunctionBodyFilterTest.filter("""
+                impl Trait for fn(u8) -> u8 { fn call(&self) { self(1); } }"""));
+        assertEquals("impl From < u8 > for fn ( ) { fn from ( value : u8 ) { } }", FunctionBodyFilterTest.filter("""
+                impl From<u8> for fn() { fn from(value: u8) { todo!() } }"""));
+    }
+
+    @Test
+    void keepsFunctionDeclarations() {
+        assertEquals("extern { fn free ( value : u8 ) ; } struct A { }", FunctionBodyFilterTest.filter("""
+                extern { fn free(value: u8); } struct A {}"""));
+    }
+
+    @Test
+    void keepsModelUnchanged() {
+        final String source = """
+                use jni::sys::jint;
+
+                type Callback = fn(u8) -> u8;
+
+                impl Trait for fn(u8) -> u8 {
+                    fn call(&self, value: u8) -> u8 { self(value) }
+                }
+
+                impl From<u8> for fn() {
+                    fn from(value: u8) -> Self { todo!() }
+                }
+
+                #[jni_export(class = "Native")]
+                pub struct Point { x: jint, y: jint }
+
+                #[jni_export(class = "Native")]
+                pub extern "system" fn Java_compute(value: jint) -> jint {
+                    #[jni_export(class = "Nested")]
+                    fn nested() {}
+                    struct Local { value: u8 }
+                    use std::mem::drop;
+                    value
+                }
+                """;
+        assertEquals(FunctionBodyFilterTest.analyze(source, false), FunctionBodyFilterTest.analyze(source, true));
+    }
+
+    private static @NotNull String filter(@NotNull final String source) {
+        return FunctionBodyFilter.filter(PARSER_FACTORY.newLexer(CharStreams.fromString(source)).getAllTokens())
+                .stream().map(Token::getText).collect(Collectors.joining(" "));
+    }
+
+    private static @NotNull RustFile analyze(@NotNull final String source, final boolean skipFunctionBodies) {
+        final RustLexer lexer = PARSER_FACTORY.newLexer(CharStreams.fromString(source));
+        final CommonTokenStream tokenStream = new CommonTokenStream(skipFunctionBodies ? new ListTokenSource(
+                FunctionBodyFilter.filter(lexer.getAllTokens())) : lexer);
+        final List<RustFunction> functions = new ArrayList<>();
+        final List<RustStruct> structures = new ArrayList<>();
+        final Map<String, String> imports = new LinkedHashMap<>();
+        ParseTreeWalker.DEFAULT.walk(new SourceFileAnalyzerListener(functions, structures, imports),
+                PARSER_FACTORY.newParser(tokenStream).crate());
+        return new RustFile("crate", functions, structures, imports);
+    }
+
+}
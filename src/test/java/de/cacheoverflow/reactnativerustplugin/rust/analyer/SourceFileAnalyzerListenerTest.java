@@ -0,0 +1,63 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustAttribute;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFunction;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SourceFileAnalyzerListenerTest {
+
+    private static final RustParserFactory PARSER_FACTORY = new RustParserFactory();
+
+    @Test
+    void expandsUseTrees() {
+        final RustFile rustFile = SourceFileAnalyzerListenerTest.analyze("""
+                use jni::{self, sys::jint as Int, objects::{JObject}};
+                use std::io::Read as _;
+                use std::collections::*;
+                use crate::model::Point;
+                """);
+        assertEquals(Map.of("jni", "jni", "Int", "jni::sys::jint", "JObject", "jni::objects::JObject",
+                "Point", "crate::model::Point"), rustFile.imports());
+    }
+
+    @Test
+    void readsQuotedAndUnquotedAttributeValues() {
+        final RustFile rustFile = SourceFileAnalyzerListenerTest.analyze("""
+                #[derive(Debug)]
+                #[jni_export(class = "Native", method = compute, options(static = true), flag)]
+                pub extern "system" fn Java_compute() {}
+
+                #[jni_export]
+                pub struct Point { x: i32 }
+                """);
+        assertEquals(List.of(new RustAttribute(SourceFileAnalyzer.EXPORT_ATTRIBUTE_NAME, new ParameterList.Builder()
+                .add("class", "\"Native\"").add("method", "compute").build())), rustFile.functions().get(0)
+                .attributes());
+        assertEquals(List.of(new RustAttribute(SourceFileAnalyzer.EXPORT_ATTRIBUTE_NAME, ParameterList.EMPTY)),
+                rustFile.structs().get(0).attributes());
+    }
+
+    private static @NotNull RustFile analyze(@NotNull final String source) {
+        final List<RustFunction> functions = new ArrayList<>();
+        final List<RustStruct> structures = new ArrayList<>();
+        final Map<String, String> imports = new LinkedHashMap<>();
+        ParseTreeWalker.DEFAULT.walk(new SourceFileAnalyzerListener(functions, structures, imports), PARSER_FACTORY
+                .newParser(new CommonTokenStream(PARSER_FACTORY.newLexer(CharStreams.fromString(source)))).crate());
+        return new RustFile("crate", functions, structures, imports);
+    }
+
+}
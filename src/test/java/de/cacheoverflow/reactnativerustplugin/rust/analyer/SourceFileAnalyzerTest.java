@@ -0,0 +1,39 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SourceFileAnalyzerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsStructNamesOfSkippedFiles() throws IOException {
+        final Path file = this.directory.resolve("model.rs");
+        Files.writeString(file, """
+                pub struct Point { x: i32, y: i32 }
+
+                fn helper() {
+                    struct Local;
+                }
+                """);
+
+        try (final SourceFileAnalyzer analyzer = new SourceFileAnalyzer(NOPLogger.NOP_LOGGER)) {
+            final RustFile rustFile = analyzer.analyzeFile(this.directory, file);
+            assertEquals(List.of("Point"), rustFile.structs().stream().map(RustStruct::name).toList());
+            assertEquals(List.of(), rustFile.functions());
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package de.cacheoverflow.reactnativerustplugin.rust.analyer.cache;
+
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.AnalyzerConfiguration;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.EnumParseMode;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.SymbolTable;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustAttribute;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFile;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustFunction;
+import de.cacheoverflow.reactnativerustplugin.rust.analyer.data.RustStruct;
+import de.cacheoverflow.reactnativerustplugin.utils.ParameterList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AnalysisCacheTest {
+
+    private static final AnalyzerConfiguration CONFIGURATION = new AnalyzerConfiguration(1, EnumParseMode.TWO_STAGE,
+            true);
+    private static final RustFile RUST_FILE = new RustFile("crate::lib",
+            List.of(new RustFunction(List.of(new RustAttribute("jni_export", ParameterList.of("class", "Native"))),
+                    "add", new ParameterList.Builder().add("a", "i32").add("b", "i32").build(),
+                    Optional.of("i32"))),
+            List.of(new RustStruct(List.of(), "Point", ParameterList.of("x", "f32"))),
+            Map.of("jint", "jni::sys::jint"));
+    private static final byte[] SOURCE = "pub fn add(a: i32, b: i32) -> i32 { a + b }".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsStoredFiles() {
+        final Path cacheFile = this.directory.resolve("analysis-cache.bin");
+        final Path sourceFile = this.directory.resolve("lib.rs");
+        final byte[] hash = AnalysisCache.hash(SOURCE, SOURCE.length);
+        final AnalysisCache cache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        cache.store(sourceFile, hash, RUST_FILE);
+        cache.save();
+
+        final AnalysisCache loadedCache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        loadedCache.load();
+        assertEquals(RUST_FILE, loadedCache.lookup(sourceFile, hash, new SymbolTable()));
+    }
+
+    @Test
+    void missesChangedContent() {
+        final Path cacheFile = this.directory.resolve("analysis-cache.bin");
+        final Path sourceFile = this.directory.resolve("lib.rs");
+        final AnalysisCache cache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        cache.store(sourceFile, AnalysisCache.hash(SOURCE, SOURCE.length), RUST_FILE);
+        cache.save();
+
+        final AnalysisCache loadedCache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        loadedCache.load();
+        assertNull(loadedCache.lookup(sourceFile, AnalysisCache.hash(SOURCE, SOURCE.length - 1), new SymbolTable()));
+    }
+
+    @Test
+    void ignoresCacheOfOtherVersion() throws IOException {
+        final Path cacheFile = this.directory.resolve("analysis-cache.bin");
+        final Path sourceFile = this.directory.resolve("lib.rs");
+        final byte[] hash = AnalysisCache.hash(SOURCE, SOURCE.length);
+        final AnalysisCache cache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        cache.store(sourceFile, hash, RUST_FILE);
+        cache.save();
+
+        // The version follows the magic number at the start of the header
+        final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(cacheFile));
+        content.putInt(Integer.BYTES, content.getInt(Integer.BYTES) + 1);
+        Files.write(cacheFile, content.array());
+
+        final AnalysisCache loadedCache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        loadedCache.load();
+        assertNull(loadedCache.lookup(sourceFile, hash, new SymbolTable()));
+    }
+
+    @Test
+    void ignoresCacheOfOtherSettings() {
+        final Path cacheFile = this.directory.resolve("analysis-cache.bin");
+        final Path sourceFile = this.directory.resolve("lib.rs");
+        final byte[] hash = AnalysisCache.hash(SOURCE, SOURCE.length);
+        final AnalysisCache cache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        cache.store(sourceFile, hash, RUST_FILE);
+        cache.save();
+
+        final AnalysisCache otherModeCache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile,
+                new AnalyzerConfiguration(1, EnumParseMode.LL, true));
+        otherModeCache.load();
+        assertNull(otherModeCache.lookup(sourceFile, hash, new SymbolTable()));
+
+        final AnalysisCache keptBodiesCache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile,
+                new AnalyzerConfiguration(1, EnumParseMode.TWO_STAGE, false));
+        keptBodiesCache.load();
+        assertNull(keptBodiesCache.lookup(sourceFile, hash, new SymbolTable()));
+    }
+
+    @Test
+    void ignoresTruncatedCache() throws IOException {
+        final Path cacheFile = this.directory.resolve("analysis-cache.bin");
+        final Path sourceFile = this.directory.resolve("lib.rs");
+        final byte[] hash = AnalysisCache.hash(SOURCE, SOURCE.length);
+        final AnalysisCache cache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        cache.store(sourceFile, hash, RUST_FILE);
+        cache.save();
+
+        final byte[] content = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, Arrays.copyOf(content, content.length - 4));
+
+        final AnalysisCache loadedCache = new AnalysisCache(NOPLogger.NOP_LOGGER, cacheFile, CONFIGURATION);
+        loadedCache.load();
+        assertNull(loadedCache.lookup(sourceFile, hash, new SymbolTable()));
+    }
+
+}
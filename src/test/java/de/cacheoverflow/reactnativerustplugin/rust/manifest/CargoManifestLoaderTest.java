@@ -0,0 +1,85 @@
+package de.cacheoverflow.reactnativerustplugin.rust.manifest;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CargoManifestLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsCdylibMembersOfWorkspace() throws IOException {
+        CargoManifestLoaderTest.writeManifest(this.directory, """
+                [workspace]
+                members = ["crates/*", "tools/cli"]
+                exclude = ["crates/ignored"]
+                """);
+        CargoManifestLoaderTest.writeManifest(this.directory.resolve("crates/native-core"), """
+                [package]
+                name = "native-core"
+
+                [lib]
+                crate-type = ["cdylib", "rlib"]
+                """);
+        CargoManifestLoaderTest.writeManifest(this.directory.resolve("crates/helper"), """
+                [package]
+                name = "helper"
+                """);
+        CargoManifestLoaderTest.writeManifest(this.directory.resolve("crates/ignored"), """
+                [package]
+                name = "ignored"
+
+                [lib]
+                crate-type = ["cdylib"]
+                """);
+        CargoManifestLoaderTest.writeManifest(this.directory.resolve("tools/cli"), """
+                [package]
+                name = "cli"
+                """);
+
+        final CargoManifestLoader loader = new CargoManifestLoader();
+        assertEquals(List.of("helper", "native-core", "cli"), loader.loadPackages(this.directory).stream()
+                .map(CargoManifest::packageName).toList());
+        assertEquals(List.of("native_core"), loader.loadNativeLibraries(this.directory).stream()
+                .map(CargoManifest::getCrateName).toList());
+    }
+
+    @Test
+    void loadsConfiguredPackageWithoutCrateType() throws IOException {
+        CargoManifestLoaderTest.writeManifest(this.directory, """
+                [package]
+                name = "native-library"
+                """);
+        assertEquals(List.of("native_library"), new CargoManifestLoader().loadNativeLibraries(this.directory).stream()
+                .map(CargoManifest::getCrateName).toList());
+    }
+
+    @Test
+    void usesLibraryName() throws IOException {
+        CargoManifestLoaderTest.writeManifest(this.directory, """
+                [package]
+                name = "native-library"
+
+                [lib]
+                name = "native"
+                crate-type = ["cdylib"]
+                """);
+        assertEquals("native", new CargoManifestLoader().load(this.directory).getCrateName());
+    }
+
+    private static void writeManifest(@NotNull final Path directory, @NotNull final String content)
+            throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(CargoManifestLoader.MANIFEST_FILE_NAME), content);
+    }
+
+}